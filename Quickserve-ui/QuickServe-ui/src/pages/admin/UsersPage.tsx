@@ -39,6 +39,7 @@ const getStatusVariant = (status: string) => {
 };
 
 const API_BASE =import.meta.env.VITE_API_BASE_URL;
+const PAGE_SIZE = 20;
 
 const navItems = [
   { icon: Home, label: "Dashboard", path: "/admin" },
@@ -53,21 +54,35 @@ const UsersPage = () => {
 
   const [users, setUsers] = useState<any[]>([]);
   const [stats, setStats] = useState<any>(null);
+  const [search, setSearch] = useState("");
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
 
+  // One page of the directory at a time; search and sort run in the database
   useEffect(() => {
     if (!token) return;
 
-    fetch(`${API_BASE}/admin/users`, {
+    const params = new URLSearchParams({
+      page: String(page),
+      size: String(PAGE_SIZE),
+      sort: "name,asc",
+    });
+    if (search.trim()) params.set("q", search.trim());
+
+    fetch(`${API_BASE}/admin/users/directory?${params}`, {
       headers: { Authorization: `Bearer ${token}` },
     })
         .then(res => res.json())
-        .then(setUsers);
-  }, [token]);
+        .then(data => {
+          setUsers(data.content ?? []);
+          setTotalPages(data.totalPages ?? 0);
+        });
+  }, [token, page, search]);
 
   useEffect(() => {
     if (!token) return;
 
-    fetch(`${API_BASE}/api/admin/users/stats`, {
+    fetch(`${API_BASE}/admin/users/stats`, {
       headers: { Authorization: `Bearer ${token}` },
     })
         .then(res => res.json())
@@ -127,7 +142,15 @@ const UsersPage = () => {
             <div className="flex flex-col sm:flex-row gap-4">
               <div className="relative flex-1">
                 <Search className="absolute left-3 top-1/2 -translate-y-1/2 w-4 h-4 text-muted-foreground" />
-                <Input placeholder="Search users..." className="pl-10" />
+                <Input
+                    placeholder="Search users..."
+                    className="pl-10"
+                    value={search}
+                    onChange={(e) => {
+                      setSearch(e.target.value);
+                      setPage(0);
+                    }}
+                />
               </div>
               <Select defaultValue="all">
                 <SelectTrigger className="w-full sm:w-[150px]">
@@ -238,6 +261,21 @@ const UsersPage = () => {
                 ))}
               </TableBody>
             </Table>
+            {totalPages > 1 && (
+                <div className="flex items-center justify-between p-4 border-t">
+                  <span className="text-sm text-muted-foreground">
+                    Page {page + 1} of {totalPages}
+                  </span>
+                  <div className="flex gap-2">
+                    <Button variant="outline" size="sm" disabled={page === 0} onClick={() => setPage(page - 1)}>
+                      Previous
+                    </Button>
+                    <Button variant="outline" size="sm" disabled={page + 1 >= totalPages} onClick={() => setPage(page + 1)}>
+                      Next
+                    </Button>
+                  </div>
+                </div>
+            )}
           </CardContent>
         </Card>
       </div>
@@ -45,7 +45,6 @@ const categories = [
 type ServiceListing = {
     id: number;
     title: string;
-    description: string;
     location: string;
     category: string | null;
     price: number;
@@ -53,7 +52,7 @@ type ServiceListing = {
     providerName: string;
     averageRating: number;
     ratingCount: number;
-    images: string[];
+    imageUrl: string | null;
 };
 
 
@@ -188,7 +187,7 @@ const CustomerDashboard = () => {
                                     {/* Image */}
                                     <div className="relative h-48 overflow-hidden">
                                         <img
-                                            src={service.images?.[0] || "/placeholder-service.jpg"}
+                                            src={service.imageUrl || "/placeholder-service.jpg"}
                                             alt={service.title}
                                             className="w-full h-full object-cover transition-transform duration-500 group-hover:scale-110"
                                         />
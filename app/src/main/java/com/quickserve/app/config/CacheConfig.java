@@ -0,0 +1,47 @@
+package com.quickserve.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process caches for public listing reads and the admin dashboard snapshot.
+ * <p>
+ * Evictions issued inside a transaction are deferred until it commits, so a
+ * concurrent reader cannot re-cache the row that is about to change. Any other
+ * {@link CacheManager} (e.g. a shared Redis tier) can replace this bean; the
+ * cache names below are the only contract.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String LISTING_BY_ID = "listingById";
+    public static final String LISTING_PAGES = "listingPages";
+    public static final String LISTING_FILTERS = "listingFilters";
+    public static final String ADMIN_DASHBOARD = "adminDashboard";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${listing.cache.spec}") String spec,
+            @Value("${admin.dashboard.max-staleness:PT1M}") Duration dashboardMaxStaleness
+    ) {
+        CaffeineCacheManager caffeine = new CaffeineCacheManager(LISTING_BY_ID, LISTING_PAGES, LISTING_FILTERS);
+        caffeine.setCacheSpecification(spec);
+        caffeine.setAllowNullValues(false);
+        // A single entry, served for at most max-staleness after it was computed
+        caffeine.registerCustomCache(ADMIN_DASHBOARD, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(dashboardMaxStaleness)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+}
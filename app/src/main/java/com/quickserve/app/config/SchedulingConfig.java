@@ -0,0 +1,10 @@
+package com.quickserve.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs, e.g. the nightly rating reconcile (RatingAggregateServiceImpl)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -3,6 +3,7 @@ package com.quickserve.app.config;
 import com.quickserve.app.utils.JwtAuthFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -45,9 +46,13 @@ public class SecurityConfig {
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/api/listings/search",
+                                "/api/listings/suggest",
                                 "/api/listings/filter",
+                                "/api/listings/available",
+                                "/api/listings/stream",
                                 "/api/public/**"
                         ).permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/listings/{id:\\d+}").permitAll()
 
                         // 🔐 AUTH REQUIRED
                         .requestMatchers(
@@ -58,6 +63,9 @@ public class SecurityConfig {
 
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // 🔐 EVERYTHING ELSE
                         .anyRequest().authenticated()
                 )
@@ -1,7 +1,13 @@
 package com.quickserve.app.controller;
 
 
+import com.quickserve.app.dto.CursorPage;
+import com.quickserve.app.repository.projection.AdminUserView;
+import com.quickserve.app.repository.specification.Keyset;
 import com.quickserve.app.service.AdminService;
+import com.quickserve.app.utils.CursorLinks;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,9 +31,38 @@ public class AdminController {
         return ResponseEntity.ok("ADMIN OK");
     }
 
+    // Newest Keyset.MAX_PAGE_SIZE users; when there are more, the Link rel="next" header
+    // continues in the keyset form below
     @GetMapping("/users")
-    public List<Map<String, Object>> getAllUsers() {
-        return adminService.getAllUsers();
+    public ResponseEntity<List<Map<String, Object>>> getAllUsers() {
+        return CursorLinks.firstPage(adminService.getAllUsers(null, Keyset.MAX_PAGE_SIZE), Keyset.MAX_PAGE_SIZE);
+    }
+
+    // Keyset-paginated: GET /api/admin/users?size=50&cursor=...
+    @GetMapping(value = "/users", params = "size")
+    public ResponseEntity<CursorPage<Map<String, Object>>> getUsersPage(
+            @RequestParam int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        return CursorLinks.ok(adminService.getAllUsers(cursor, size));
+    }
+
+    /**
+     * User directory with booking counts, filtered and sorted in the database
+     * GET /api/admin/users/directory?q=ali&page=0&size=20&sort=name,asc
+     */
+    @GetMapping("/users/directory")
+    public Page<AdminUserView> getUserDirectory(
+            @RequestParam(required = false) String q,
+            Pageable pageable
+    ) {
+        return adminService.getUserDirectory(q, pageable);
+    }
+
+    @PostMapping("/users/{userId}/revoke-sessions")
+    public ResponseEntity<Void> revokeSessions(@PathVariable Long userId) {
+        adminService.revokeSessions(userId);
+        return ResponseEntity.ok().build();
     }
 
     @GetMapping("/users/stats")
@@ -52,6 +87,21 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/ratings/reconcile")
+    public Map<String, Integer> reconcileRatings() {
+        return adminService.reconcileRatings();
+    }
+
+    @PostMapping("/rollups/reconcile")
+    public Map<String, Integer> reconcileRollups() {
+        return adminService.reconcileRollups();
+    }
+
+    @PostMapping("/users/totals/reconcile")
+    public Map<String, Integer> reconcileUserTotals() {
+        return adminService.reconcileUserTotals();
+    }
+
     @GetMapping("/approvals/stats")
     public Map<String, Object> approvalStats() {
         return adminService.getApprovalStats();
@@ -3,9 +3,11 @@ package com.quickserve.app.controller;
 import com.quickserve.app.dto.BookingDetailResponse;
 import com.quickserve.app.dto.BookingListItemResponse;
 import com.quickserve.app.dto.BookingRequest;
+import com.quickserve.app.dto.CursorPage;
 import com.quickserve.app.dto.ProviderBookingResponse;
 import com.quickserve.app.model.Booking;
 import com.quickserve.app.service.BookingService;
+import com.quickserve.app.utils.CursorLinks;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -55,6 +57,19 @@ public class BookingController {
         );
     }
 
+    // Keyset-paginated: GET /api/bookings/my?size=20&cursor=...
+    @GetMapping(value = "/my", params = "size")
+    public ResponseEntity<CursorPage<BookingListItemResponse>> getMyBookingsPage(
+            @RequestParam int size,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication
+    ) {
+        String email = authentication.getName();
+        return CursorLinks.ok(
+                bookingService.getBookingsForUserByEmail(email, cursor, size)
+        );
+    }
+
 
 
     @GetMapping("/my/{id}")
@@ -81,6 +96,19 @@ public class BookingController {
         );
     }
 
+    // Keyset-paginated: GET /api/bookings/provider?size=20&cursor=...
+    @GetMapping(value = "/provider", params = "size")
+    public ResponseEntity<CursorPage<ProviderBookingResponse>> getProviderBookingsPage(
+            @RequestParam int size,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication
+    ) {
+        String email = authentication.getName();
+        return CursorLinks.ok(
+                bookingService.getBookingsForProviderByEmail(email, cursor, size)
+        );
+    }
+
     // ✅ Provider ACCEPT booking
     @PatchMapping("/{bookingId}/accept")
     public ResponseEntity<Booking> acceptBooking(
@@ -1,29 +1,40 @@
 package com.quickserve.app.controller;
 
+import com.quickserve.app.dto.AvailabilityImportResponse;
+import com.quickserve.app.dto.TimeWindow;
+import com.quickserve.app.model.AvailabilityRule;
 import com.quickserve.app.model.CalendarAvailability;
 import com.quickserve.app.model.User;
-import com.quickserve.app.repository.CalendarAvailabilityRepository;
 import com.quickserve.app.repository.UserRepository;
+import com.quickserve.app.service.AvailabilityService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/calendar")
 public class CalendarAvailabilityController {
 
-    private final CalendarAvailabilityRepository calendarRepository;
     private final UserRepository userRepository;
+    private final AvailabilityService availabilityService;
 
     public CalendarAvailabilityController(
-            CalendarAvailabilityRepository calendarRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            AvailabilityService availabilityService
     ) {
-        this.calendarRepository = calendarRepository;
         this.userRepository = userRepository;
+        this.availabilityService = availabilityService;
     }
 
     @PostMapping
@@ -36,25 +47,124 @@ public class CalendarAvailabilityController {
         User provider = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalStateException("User not found"));
 
-        if (request.getEndTime().isBefore(request.getStartTime())) {
-            throw new IllegalArgumentException("End time must be after start time");
-        }
+        return ResponseEntity.ok(
+                availabilityService.addAvailability(provider.getId(), request)
+        );
+    }
+
+    // Bulk import: JSON array of {"start","end"} ...
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AvailabilityImportResponse> importAvailability(
+            @RequestBody List<TimeWindow> slots,
+            Authentication authentication
+    ) {
+        User provider = currentProvider(authentication);
+        return ResponseEntity.ok(
+                availabilityService.importAvailability(provider.getId(), slots)
+        );
+    }
+
+    // ... or CSV lines "start,end" (ISO-8601 with offset), optional header row
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<AvailabilityImportResponse> importAvailabilityCsv(
+            Reader body,
+            Authentication authentication
+    ) throws IOException {
+        User provider = currentProvider(authentication);
+        return ResponseEntity.ok(
+                availabilityService.importAvailability(provider.getId(), parseCsv(body))
+        );
+    }
 
-        request.setProviderId(provider.getId());
-        return ResponseEntity.ok(calendarRepository.save(request));
+    // Bookable windows: availability minus live bookings
+    // GET /api/calendar/{providerId}/free?from=2025-01-01T00:00:00Z&to=2025-01-08T00:00:00Z
+    @GetMapping("/{providerId}/free")
+    public ResponseEntity<List<TimeWindow>> getFreeWindows(
+            @PathVariable Long providerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to
+    ) {
+        return ResponseEntity.ok(
+                availabilityService.freeWindows(providerId, from, to)
+        );
     }
 
+    // Slots overlapping ?from=&to=; without them, from now to the availability horizon,
+    // and never a longer window than that
     @GetMapping("/my")
     public ResponseEntity<List<CalendarAvailability>> getMyAvailability(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
             Authentication authentication
     ) {
-        String email = authentication.getName();
+        User provider = currentProvider(authentication);
+        return ResponseEntity.ok(
+                availabilityService.getAvailability(provider.getId(), from, to)
+        );
+    }
 
-        User provider = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found"));
+    /* ===== Recurring weekly rules ===== */
 
+    @PostMapping("/rules")
+    public ResponseEntity<AvailabilityRule> addRule(
+            @Valid @RequestBody AvailabilityRule request,
+            Authentication authentication
+    ) {
+        User provider = currentProvider(authentication);
         return ResponseEntity.ok(
-                calendarRepository.findByProviderId(provider.getId())
+                availabilityService.addRule(provider.getId(), request)
         );
     }
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<AvailabilityRule>> getMyRules(
+            Authentication authentication
+    ) {
+        User provider = currentProvider(authentication);
+        return ResponseEntity.ok(
+                availabilityService.getRules(provider.getId())
+        );
+    }
+
+    @DeleteMapping("/rules/{ruleId}")
+    public ResponseEntity<Void> deleteRule(
+            @PathVariable Long ruleId,
+            Authentication authentication
+    ) {
+        User provider = currentProvider(authentication);
+        availabilityService.deleteRule(provider.getId(), ruleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static List<TimeWindow> parseCsv(Reader body) throws IOException {
+        List<TimeWindow> slots = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(body);
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && line.toLowerCase().startsWith("start"))) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            if (columns.length != 2) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected start,end");
+            }
+            try {
+                slots.add(new TimeWindow(
+                        OffsetDateTime.parse(columns[0].trim()),
+                        OffsetDateTime.parse(columns[1].trim())
+                ));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getParsedString() + " is not an ISO-8601 date-time");
+            }
+        }
+        return slots;
+    }
+
+    private User currentProvider(Authentication authentication) {
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new IllegalStateException("User not found"));
+    }
 }
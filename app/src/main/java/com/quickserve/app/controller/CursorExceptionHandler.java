@@ -0,0 +1,20 @@
+package com.quickserve.app.controller;
+
+import com.quickserve.app.utils.SeekCursor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers a malformed {@code cursor} parameter of the keyset-paginated endpoints with
+ * 400 instead of letting it surface as a server error.
+ */
+@RestControllerAdvice
+public class CursorExceptionHandler {
+
+    @ExceptionHandler(SeekCursor.InvalidCursorException.class)
+    public ProblemDetail invalidCursor(SeekCursor.InvalidCursorException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
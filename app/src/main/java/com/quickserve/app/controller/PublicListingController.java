@@ -1,12 +1,26 @@
 package com.quickserve.app.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.quickserve.app.dto.*;
+import com.quickserve.app.model.Category;
 import com.quickserve.app.service.ListingService;
+import com.quickserve.app.service.ListingSuggestService;
+import com.quickserve.app.utils.CursorLinks;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @RestController
@@ -15,22 +29,63 @@ import java.util.List;
 public class PublicListingController {
 
     private final ListingService listingService;
+    private final ListingSuggestService listingSuggestService;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON = "application/x-ndjson";
 
     /**
-     * Public browse (no filters)
-     * GET /api/listings
+     * Public browse (no filters), newest first, keyset paginated
+     * GET /api/listings?size=20&cursor=<nextCursor of the previous page>
      */
     @GetMapping
-    public List<ServiceListingResponse> getAllActiveListings() {
-        return listingService.getAllActiveListings();
+    public ResponseEntity<CursorPage<ListingSummaryResponse>> getAllActiveListings(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return CursorLinks.ok(listingService.getAllActiveListings(cursor, size));
+    }
+
+    /**
+     * Public listing details (approved and active only)
+     * GET /api/listings/42
+     */
+    @GetMapping("/{id:\\d+}")
+    public ServiceListingResponse getListing(@PathVariable Long id) {
+        return listingService.getPublicListing(id);
+    }
+
+    /**
+     * Whole catalog as newline-delimited JSON, written while rows are read
+     * GET /api/listings/stream
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllActiveListings() {
+        // Keep the response open between rows
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        StreamingResponseBody body = out ->
+                listingService.streamAllActiveListings(listing -> {
+                    try {
+                        writer.writeValue(out, listing);
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     /**
-     * Public search (paginated, rating-aware)
+     * Public search (paginated, best matches first; a sort parameter is ignored)
      * GET /api/listings/search?keyword=clean&page=0&size=10
      */
     @GetMapping("/search")
-    public Page<ServiceListingResponse> searchListings(
+    public Page<ListingSummaryResponse> searchListings(
             @RequestParam(required = false) String keyword,
             Pageable pageable
     ) {
@@ -43,13 +98,42 @@ public class PublicListingController {
 
 
     /**
-     * Public filter
-     * POST /api/listings/filter
+     * Listings whose provider is free for the whole window, best rated first
+     * GET /api/listings/available?category=CLEANING&location=Pune
+     *     &start=2025-06-07T10:00:00%2B05:30&end=2025-06-07T12:00:00%2B05:30&page=0&size=20
+     */
+    @GetMapping("/available")
+    public Page<ListingSummaryResponse> findAvailableListings(
+            @RequestParam Category category,
+            @RequestParam(required = false) String location,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
+            Pageable pageable
+    ) {
+        return listingService.findAvailableListings(category, location, start, end, pageable);
+    }
+
+    /**
+     * Typeahead suggestions, served from memory
+     * GET /api/listings/suggest?q=cle&limit=8
+     */
+    @GetMapping("/suggest")
+    public List<SuggestionResponse> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return listingSuggestService.suggest(q, limit);
+    }
+
+    /**
+     * Public filter (paginated, filtered in the database)
+     * POST /api/listings/filter?page=0&size=10&sort=price,asc
      */
     @PostMapping("/filter")
-    public List<ServiceListingResponse> filterListings(
-            @RequestBody ListingFilterRequest filterRequest
+    public Page<ServiceListingResponse> filterListings(
+            @RequestBody ListingFilterRequest filterRequest,
+            Pageable pageable
     ) {
-        return listingService.filterListings(filterRequest);
+        return listingService.filterListings(filterRequest, pageable);
     }
 }
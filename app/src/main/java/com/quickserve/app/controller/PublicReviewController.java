@@ -1,9 +1,12 @@
 package com.quickserve.app.controller;
 
+import com.quickserve.app.dto.CursorPage;
 import com.quickserve.app.dto.ProviderRatingResponse;
+import com.quickserve.app.dto.RatingDistributionResponse;
 import com.quickserve.app.dto.ReviewResponse;
-import com.quickserve.app.model.Review;
 import com.quickserve.app.service.ReviewService;
+import com.quickserve.app.utils.CursorLinks;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -21,34 +24,33 @@ public class PublicReviewController {
     // 1️⃣ Public: provider reviews
     @GetMapping("/provider/{providerId}")
     public List<ReviewResponse> getProviderReviews(@PathVariable Long providerId) {
-        return reviewService.getProviderReviews(providerId)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        return reviewService.getProviderReviews(providerId);
+    }
+
+    // 1️⃣b Public: provider reviews, keyset-paginated (?size=20&cursor=...)
+    @GetMapping(value = "/provider/{providerId}", params = "size")
+    public ResponseEntity<CursorPage<ReviewResponse>> getProviderReviewsPage(
+            @PathVariable Long providerId,
+            @RequestParam int size,
+            @RequestParam(required = false) String cursor
+    ) {
+        return CursorLinks.ok(reviewService.getProviderReviews(providerId, cursor, size));
     }
 
     // 2️⃣ Public: provider rating summary
     @GetMapping("/provider/{providerId}/rating")
     public ProviderRatingResponse getProviderRating(@PathVariable Long providerId) {
-
-        Double avg = reviewService.getProviderAverageRating(providerId);
-        Long count = (long) reviewService.getProviderReviews(providerId).size();
-
-        return new ProviderRatingResponse(avg, count);
+        return reviewService.getProviderRatingSummary(providerId);
     }
 
-    // ---- mapper (duplicate for now, we’ll refactor later) ----
-    private ReviewResponse mapToResponse(Review review) {
-
-        ReviewResponse response = new ReviewResponse();
-        response.setId(review.getId());
-        response.setBookingId(review.getBooking().getId());
-        response.setUserId(review.getUser().getId());
-        response.setProviderId(review.getProvider().getId());
-        response.setStars(review.getStars());
-        response.setComment(review.getComment());
-        response.setCreatedAt(review.getCreatedAt());
+    // 3️⃣ Public: star histograms (five entries, 1 to 5 stars)
+    @GetMapping("/provider/{providerId}/distribution")
+    public List<RatingDistributionResponse> getProviderRatingDistribution(@PathVariable Long providerId) {
+        return reviewService.getProviderRatingDistribution(providerId);
+    }
 
-        return response;
+    @GetMapping("/listing/{listingId}/distribution")
+    public List<RatingDistributionResponse> getListingRatingDistribution(@PathVariable Long listingId) {
+        return reviewService.getServiceRatingDistribution(listingId);
     }
 }
@@ -0,0 +1,20 @@
+package com.quickserve.app.controller;
+
+import com.quickserve.app.utils.UnsupportedSortException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers a {@code sort} parameter naming a key the endpoint does not expose with
+ * 400 instead of letting it surface as a server error.
+ */
+@RestControllerAdvice
+public class SortExceptionHandler {
+
+    @ExceptionHandler(UnsupportedSortException.class)
+    public ProblemDetail unsupportedSort(UnsupportedSortException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
@@ -1,5 +1,6 @@
 package com.quickserve.app.dto;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public record AdminDashboardResponse(
@@ -7,5 +8,8 @@ public record AdminDashboardResponse(
         List<RevenueTrendResponse> revenueTrend,
         List<RatingDistributionResponse> ratingDistribution,
         List<ServiceCategoryShareResponse> categoryShare,
-        List<TopServiceResponse> topServices
+        List<TopServiceResponse> topServices,
+        OffsetDateTime generatedAt,
+        // Sections left empty because they failed or timed out
+        List<String> degradedSections
 ) {}
@@ -0,0 +1,5 @@
+package com.quickserve.app.dto;
+
+// Result of a bulk availability import: slots sent vs. rows left after merging
+public record AvailabilityImportResponse(int received, int stored) {
+}
@@ -0,0 +1,29 @@
+package com.quickserve.app.dto;
+
+import com.quickserve.app.utils.SeekCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page. {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items,
+                            String nextCursor) {
+
+    /**
+     * Builds a page from a query that fetched {@code size + 1} rows;
+     * the extra row only signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, SeekCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)).encode());
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+}
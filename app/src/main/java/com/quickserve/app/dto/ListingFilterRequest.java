@@ -4,6 +4,7 @@ import com.quickserve.app.model.Category;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.Locale;
 
 @Data
 public class ListingFilterRequest {
@@ -19,4 +20,26 @@ public class ListingFilterRequest {
     private String keyword;
 
     // For future: rating, date filters, etc.
+
+    /**
+     * Canonical copy used as a cache key: blank text becomes null, text is
+     * trimmed and lower-cased and prices drop trailing zeros, so requests that
+     * select the same rows compare equal.
+     */
+    public ListingFilterRequest normalized() {
+        ListingFilterRequest copy = new ListingFilterRequest();
+        copy.setCategory(category);
+        copy.setLocation(normalize(location));
+        copy.setMinPrice(minPrice != null ? minPrice.stripTrailingZeros() : null);
+        copy.setMaxPrice(maxPrice != null ? maxPrice.stripTrailingZeros() : null);
+        copy.setKeyword(normalize(keyword));
+        return copy;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
 }
\ No newline at end of file
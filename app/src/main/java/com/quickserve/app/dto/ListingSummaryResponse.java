@@ -0,0 +1,29 @@
+package com.quickserve.app.dto;
+
+import com.quickserve.app.model.Category;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Card-sized view of a listing for public browse and search.
+ * Built directly by JPQL constructor expressions, so no entity,
+ * description or provider row is ever loaded for it.
+ */
+public record ListingSummaryResponse(Long id,
+                                     String title,
+                                     BigDecimal price,
+                                     String location,
+                                     Category category,
+                                     BigDecimal averageRating,
+                                     Integer ratingCount,
+                                     Long providerId,
+                                     String providerName,
+                                     String imageUrl,
+                                     LocalDateTime createdAt) {
+
+    public ListingSummaryResponse withImageUrl(String imageUrl) {
+        return new ListingSummaryResponse(id, title, price, location, category,
+                averageRating, ratingCount, providerId, providerName, imageUrl, createdAt);
+    }
+}
@@ -1,5 +1,17 @@
 package com.quickserve.app.dto;
 
+import com.quickserve.app.model.RatingHistogram;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
 public record RatingDistributionResponse(    int stars,   // 1–5
                                              long count) {
+
+    // One entry per star value, 1 to 5, including empty ones
+    public static List<RatingDistributionResponse> of(RatingHistogram histogram) {
+        return IntStream.rangeClosed(1, 5)
+                .mapToObj(stars -> new RatingDistributionResponse(stars, histogram.count(stars)))
+                .toList();
+    }
 }
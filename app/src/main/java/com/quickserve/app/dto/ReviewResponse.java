@@ -1,11 +1,15 @@
 package com.quickserve.app.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ReviewResponse {
     private Long id;
     private Long bookingId;
@@ -29,6 +29,7 @@ public class ServiceListingResponse {
 
     private BigDecimal averageRating;
     private int ratingCount;
+    private List<RatingDistributionResponse> ratingDistribution;
     private List<String> images;
 
 }
@@ -0,0 +1,6 @@
+package com.quickserve.app.dto;
+
+public record SuggestionResponse(String text,
+                                 String type,      // TITLE, LOCATION, CATEGORY
+                                 int listings) {
+}
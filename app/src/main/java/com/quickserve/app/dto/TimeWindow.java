@@ -0,0 +1,7 @@
+package com.quickserve.app.dto;
+
+import java.time.OffsetDateTime;
+
+// Half-open interval [start, end)
+public record TimeWindow(OffsetDateTime start, OffsetDateTime end) {
+}
@@ -0,0 +1,85 @@
+package com.quickserve.app.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Weekly recurring availability, e.g. "Mondays 09:00-17:00 Asia/Kolkata,
+ * except 2025-08-15". Stored once and expanded on demand for the window being
+ * queried, instead of one {@link CalendarAvailability} row per occurrence.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "availability_rules")
+public class AvailabilityRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "availability_rules_seq")
+    @SequenceGenerator(name = "availability_rules_seq", sequenceName = "availability_rules_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    // Wall-clock hours in 'zone'; end must be after start (no overnight rules)
+    @NotNull
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @NotNull
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "zone", nullable = false)
+    private String zone = "UTC";
+
+    // Inclusive bounds; null means open-ended
+    @Column(name = "valid_from")
+    private LocalDate validFrom;
+
+    @Column(name = "valid_until")
+    private LocalDate validUntil;
+
+    // Dates (in 'zone') on which the rule does not apply
+    @ElementCollection
+    @CollectionTable(
+            name = "availability_rule_exceptions",
+            joinColumns = @JoinColumn(name = "rule_id")
+    )
+    @Column(name = "excluded_date", nullable = false)
+    private Set<LocalDate> excludedDates = new HashSet<>();
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        this.updatedAt = OffsetDateTime.now();
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 
 @Data
@@ -12,7 +13,8 @@ import java.time.OffsetDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -32,6 +34,10 @@ public class Booking {
     @Column(nullable = false)
     private BookingStatus status;
 
+    // Listing price when the booking was made; revenue is counted at this price
+    @Column(precision = 10, scale = 2, nullable = false, updatable = false)
+    private BigDecimal price;
+
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
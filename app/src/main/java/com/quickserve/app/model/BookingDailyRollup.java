@@ -0,0 +1,41 @@
+package com.quickserve.app.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Bookings and revenue per creation day, category and current status (see BookingRollupServiceImpl)
+@Data
+@Entity
+@Table(name = "booking_daily_rollups")
+public class BookingDailyRollup {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Data
+    @Embeddable
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private LocalDate day;
+
+        // Category name, or UNCATEGORIZED for listings without one
+        private String category;
+
+        @Enumerated(EnumType.STRING)
+        private BookingStatus status;
+    }
+}
@@ -15,7 +15,8 @@ import java.time.OffsetDateTime;
 public class CalendarAvailability {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_availability_seq")
+    @SequenceGenerator(name = "calendar_availability_seq", sequenceName = "calendar_availability_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "provider_id", nullable = false)
@@ -0,0 +1,27 @@
+package com.quickserve.app.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// All-time bookings and revenue of a listing (see BookingRollupServiceImpl)
+@Data
+@Entity
+@Table(name = "listing_booking_totals")
+public class ListingBookingTotal {
+
+    @Id
+    @Column(name = "service_listing_id")
+    private Long serviceListingId;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_listing_id", insertable = false, updatable = false)
+    private ServiceListing serviceListing;
+}
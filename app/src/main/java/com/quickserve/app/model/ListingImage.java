@@ -17,7 +17,8 @@ import lombok.Setter;
 public class ListingImage {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listing_images_seq")
+    @SequenceGenerator(name = "listing_images_seq", sequenceName = "listing_images_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -8,7 +8,8 @@ import lombok.Data;
 @Data
 public class ProviderDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "provider_details_seq")
+    @SequenceGenerator(name = "provider_details_seq", sequenceName = "provider_details_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne
@@ -0,0 +1,28 @@
+package com.quickserve.app.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Review count, star total and star histogram of a provider, kept in step with the reviews table
+@Data
+@Entity
+@Table(name = "provider_ratings")
+public class ProviderRating {
+
+    @Id
+    @Column(name = "provider_id")
+    private Long providerId;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Embedded
+    private RatingHistogram ratingHistogram = new RatingHistogram();
+
+    public double average() {
+        return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+    }
+}
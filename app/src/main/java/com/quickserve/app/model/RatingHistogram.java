@@ -0,0 +1,53 @@
+package com.quickserve.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Review count per star value, stored as five counters next to a rating total.
+// Read-only to JPA: only the native increments and reconciles write the counters.
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatingHistogram {
+
+    @Column(name = "stars_1", nullable = false, insertable = false, updatable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false, insertable = false, updatable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false, insertable = false, updatable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false, insertable = false, updatable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false, insertable = false, updatable = false)
+    private long stars5;
+
+    public long count(int stars) {
+        return switch (stars) {
+            case 1 -> stars1;
+            case 2 -> stars2;
+            case 3 -> stars3;
+            case 4 -> stars4;
+            case 5 -> stars5;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5");
+        };
+    }
+
+    // Mean star value of the counted reviews, 0 without any
+    public double average() {
+        long reviews = 0;
+        long stars = 0;
+        for (int value = 1; value <= 5; value++) {
+            reviews += count(value);
+            stars += value * count(value);
+        }
+        return reviews == 0 ? 0.0 : (double) stars / reviews;
+    }
+}
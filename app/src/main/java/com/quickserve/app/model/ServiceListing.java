@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,7 +25,8 @@ public class ServiceListing {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_listings_seq")
+    @SequenceGenerator(name = "service_listings_seq", sequenceName = "service_listings_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -51,7 +53,9 @@ public class ServiceListing {
     @JoinColumn(name = "provider_id", nullable = false, updatable = false)
     private User provider;
 
+    // Pages of listings load their images in batches instead of one query per listing
     @JsonManagedReference
+    @BatchSize(size = 50)
     @OneToMany(mappedBy = "listing", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ListingImage> images;
 
@@ -71,12 +75,22 @@ public class ServiceListing {
         this.updatedAt = LocalDateTime.now();
     }
 
-    @Column(name = "avg_rating", precision = 2, scale = 1)
+    // Rating totals are written only by RatingAggregateServiceImpl's in-place increments
+    // and reconcile, never from this entity, so saving a listing loaded before a review
+    // cannot write stale totals back (the columns default to 0 on insert)
+    @Column(name = "avg_rating", precision = 2, scale = 1, insertable = false, updatable = false)
     private BigDecimal avgRating = BigDecimal.valueOf(0.0);
 
-    @Column(name = "rating_count")
+    @Column(name = "rating_count", insertable = false, updatable = false)
     private Integer ratingCount = 0;
 
+    // Star total behind avgRating, maintained with ratingCount on review submission
+    @Column(name = "rating_sum", nullable = false, insertable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    @Embedded
+    private RatingHistogram ratingHistogram = new RatingHistogram();
+
     @Column(nullable = false)
     private boolean approved = false;
 
@@ -0,0 +1,18 @@
+package com.quickserve.app.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Registered users of a role (see UserTotalServiceImpl)
+@Data
+@Entity
+@Table(name = "user_role_totals")
+public class UserRoleTotal {
+
+    // Role name, or UNASSIGNED for users without one
+    @Id
+    private String role;
+
+    @Column(nullable = false)
+    private long users;
+}
@@ -1,7 +1,11 @@
 package com.quickserve.app.notification.controller;
 
 
+import com.quickserve.app.dto.CursorPage;
+import com.quickserve.app.repository.UserRepository;
+import com.quickserve.app.utils.CursorLinks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,13 +21,37 @@ public class notificationcontroller {
     @Autowired
     private notificationservice notificationService;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    // The JWT principal name is the user's email, not their id
+    private Long currentUserId(Authentication authentication) {
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"))
+                .getId();
+    }
+
     /**
      * Get logged-in user's notifications
      */
     @GetMapping
     public List<notification> getMyNotifications(Authentication authentication) {
-        Long userId = Long.parseLong(authentication.getName());
-        return notificationService.getUserNotifications(userId);
+        return notificationService.getUserNotifications(currentUserId(authentication));
+    }
+
+    /**
+     * Get logged-in user's notifications, keyset-paginated
+     * GET /api/notifications?size=20&cursor=...
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<CursorPage<notification>> getMyNotificationsPage(
+            @RequestParam int size,
+            @RequestParam(required = false) String cursor,
+            Authentication authentication
+    ) {
+        return CursorLinks.ok(
+                notificationService.getUserNotifications(currentUserId(authentication), cursor, size)
+        );
     }
 
     /**
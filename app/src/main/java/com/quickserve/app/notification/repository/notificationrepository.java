@@ -2,10 +2,12 @@ package com.quickserve.app.notification.repository;
 
 import com.quickserve.app.notification.entity.notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.util.List;
 
-public interface notificationrepository extends JpaRepository<notification, Long> {
+public interface notificationrepository extends JpaRepository<notification, Long>,
+        JpaSpecificationExecutor<notification> {
 
     List<notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 }
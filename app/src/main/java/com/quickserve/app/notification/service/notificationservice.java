@@ -1,8 +1,9 @@
 package com.quickserve.app.notification.service;
 
-import com.quickserve.app.notification.entity.notification;
+import com.quickserve.app.dto.CursorPage;
 import com.quickserve.app.notification.entity.notification;
 import com.quickserve.app.notification.repository.notificationrepository;
+import com.quickserve.app.repository.specification.Keyset;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +15,9 @@ public class notificationservice {
     @Autowired
     private notificationrepository notificationrepository;
 
+    private static final Keyset<notification> NOTIFICATION_KEYSET =
+            Keyset.byLocalDateTime("createdAt", notification::getCreatedAt, notification::getId);
+
     /**
      * Create notification
      */
@@ -47,6 +51,19 @@ public class notificationservice {
         return notificationrepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * Get user notifications, keyset-paginated (newest first)
+     */
+    public CursorPage<notification> getUserNotifications(Long userId, String cursor, int size) {
+        return NOTIFICATION_KEYSET.fetch(
+                notificationrepository,
+                (root, query, cb) -> cb.equal(root.get("userId"), userId),
+                cursor,
+                size,
+                n -> n
+        );
+    }
+
     public void markAsRead(Long notificationId) throws RuntimeException {
         notification notification = notificationrepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
@@ -0,0 +1,17 @@
+package com.quickserve.app.repository;
+
+import com.quickserve.app.model.AvailabilityRule;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AvailabilityRuleRepository extends JpaRepository<AvailabilityRule, Long> {
+
+    // Rules are always expanded together with their exception dates
+    @EntityGraph(attributePaths = "excludedDates")
+    List<AvailabilityRule> findByProviderId(Long providerId);
+
+    Optional<AvailabilityRule> findByIdAndProviderId(Long id, Long providerId);
+}
@@ -3,8 +3,9 @@ package com.quickserve.app.repository;
 import com.quickserve.app.dto.BookingDetailResponse;
 import com.quickserve.app.model.Booking;
 import com.quickserve.app.model.BookingStatus;
-import com.quickserve.app.repository.projection.MonthlyTrendProjection;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,12 +13,15 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>,
+        JpaSpecificationExecutor<Booking> {
 
-    // Fetch all bookings made by a user
+    // Fetch all bookings made by a user (listing title/price are always shown)
+    @EntityGraph(attributePaths = "serviceListing")
     List<Booking> findByUserId(Long userId);
 
     // Fetch all bookings for a provider
+    @EntityGraph(attributePaths = "serviceListing")
     List<Booking> findByProviderId(Long providerId);
 
     // Check overlapping bookings for a provider (excluding cancelled)
@@ -41,35 +45,9 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     long countByStatus(BookingStatus status);
 
-    @Query("""
-    SELECT COUNT(b)
-    FROM Booking b
-    WHERE b.userId = :userId
-""")
-    long countBookingsByUserId(Long userId);
-
 
-    @Query("""
-    SELECT
-        EXTRACT(MONTH FROM b.createdAt) AS month,
-        COUNT(b) AS bookings,
-        COALESCE(SUM(s.price), 0) AS revenue
-    FROM Booking b
-    JOIN b.serviceListing s
-    WHERE b.status = com.quickserve.app.model.BookingStatus.CONFIRMED
-    GROUP BY EXTRACT(MONTH FROM b.createdAt)
-    ORDER BY EXTRACT(MONTH FROM b.createdAt)
-""")
-    List<MonthlyTrendProjection> getMonthlyTrend();
 
 
-    @Query("""
-SELECT COUNT(b)
-FROM Booking b
-WHERE b.status IN :statuses
-""")
-    long countActiveBookings(@Param("statuses") List<BookingStatus> statuses);
-
 
 
 
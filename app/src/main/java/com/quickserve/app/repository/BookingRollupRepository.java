@@ -0,0 +1,98 @@
+package com.quickserve.app.repository;
+
+import com.quickserve.app.model.BookingDailyRollup;
+import com.quickserve.app.model.BookingStatus;
+import com.quickserve.app.repository.projection.CategoryShareProjection;
+import com.quickserve.app.repository.projection.MonthlyTrendProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface BookingRollupRepository extends JpaRepository<BookingDailyRollup, BookingDailyRollup.Key> {
+
+    // Adds delta (+1/-1) bookings of the given status to the booking's day and category
+    @Modifying
+    @Query(value = """
+        INSERT INTO booking_daily_rollups AS r (day, category, status, bookings, revenue)
+        SELECT CAST(COALESCE(b.created_at, b.start_time) AT TIME ZONE 'UTC' AS date),
+               COALESCE(s.category, 'UNCATEGORIZED'), :status, :delta, :delta * b.price
+        FROM bookings b
+        JOIN service_listings s ON s.id = b.service_listing_id
+        WHERE b.id = :bookingId
+        ON CONFLICT (day, category, status) DO UPDATE
+        SET bookings = r.bookings + EXCLUDED.bookings,
+            revenue  = r.revenue + EXCLUDED.revenue
+    """, nativeQuery = true)
+    int add(@Param("bookingId") Long bookingId, @Param("status") String status, @Param("delta") int delta);
+
+    // Recomputes every row from bookings and zeroes rows no booking maps to any more;
+    // returns the number of rows that had drifted
+    @Query(value = """
+        WITH fresh AS (
+            SELECT CAST(COALESCE(b.created_at, b.start_time) AT TIME ZONE 'UTC' AS date) AS day,
+                   COALESCE(s.category, 'UNCATEGORIZED') AS category, b.status,
+                   count(*) AS bookings, sum(b.price) AS revenue
+            FROM bookings b
+            JOIN service_listings s ON s.id = b.service_listing_id
+            GROUP BY 1, 2, 3
+        ), corrected AS (
+            INSERT INTO booking_daily_rollups AS r (day, category, status, bookings, revenue)
+            SELECT day, category, status, bookings, revenue FROM fresh
+            ON CONFLICT (day, category, status) DO UPDATE
+            SET bookings = EXCLUDED.bookings,
+                revenue  = EXCLUDED.revenue
+            WHERE (r.bookings, r.revenue) <> (EXCLUDED.bookings, EXCLUDED.revenue)
+            RETURNING 1
+        ), zeroed AS (
+            UPDATE booking_daily_rollups r
+            SET bookings = 0, revenue = 0
+            WHERE (r.bookings <> 0 OR r.revenue <> 0)
+              AND NOT EXISTS (SELECT 1 FROM fresh f
+                              WHERE f.day = r.day AND f.category = r.category AND f.status = r.status)
+            RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM corrected) + (SELECT count(*) FROM zeroed)
+    """, nativeQuery = true)
+    int reconcile();
+
+    @Query("SELECT COALESCE(SUM(r.bookings), 0) FROM BookingDailyRollup r")
+    long sumBookings();
+
+    @Query("""
+        SELECT COALESCE(SUM(r.bookings), 0)
+        FROM BookingDailyRollup r
+        WHERE r.id.status IN :statuses
+    """)
+    long sumBookingsByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("""
+        SELECT COALESCE(SUM(r.revenue), 0)
+        FROM BookingDailyRollup r
+        WHERE r.id.status IN :statuses
+    """)
+    BigDecimal sumRevenueByStatusIn(@Param("statuses") Collection<BookingStatus> statuses);
+
+    // Confirmed bookings per calendar month, all years together
+    @Query("""
+        SELECT EXTRACT(MONTH FROM r.id.day) AS month,
+               SUM(r.bookings) AS bookings,
+               COALESCE(SUM(r.revenue), 0) AS revenue
+        FROM BookingDailyRollup r
+        WHERE r.id.status = com.quickserve.app.model.BookingStatus.CONFIRMED
+        GROUP BY EXTRACT(MONTH FROM r.id.day)
+        ORDER BY EXTRACT(MONTH FROM r.id.day)
+    """)
+    List<MonthlyTrendProjection> getMonthlyTrend();
+
+    @Query("""
+        SELECT r.id.category AS category, SUM(r.bookings) AS count
+        FROM BookingDailyRollup r
+        GROUP BY r.id.category
+    """)
+    List<CategoryShareProjection> getCategoryShare();
+}
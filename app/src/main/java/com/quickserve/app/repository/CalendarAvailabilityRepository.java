@@ -11,9 +11,6 @@ import java.util.List;
 public interface CalendarAvailabilityRepository
         extends JpaRepository<CalendarAvailability, Long> {
 
-    // Fetch all availability slots for a provider
-    List<CalendarAvailability> findByProviderId(Long providerId);
-
     // Check overlapping availability slots
     @Query("""
         SELECT c FROM CalendarAvailability c
@@ -26,4 +23,17 @@ public interface CalendarAvailabilityRepository
             @Param("startTime") OffsetDateTime startTime,
             @Param("endTime") OffsetDateTime endTime
     );
+
+    // Slots overlapping or touching [startTime, endTime], so an import can merge with them
+    @Query("""
+        SELECT c FROM CalendarAvailability c
+        WHERE c.providerId = :providerId
+          AND c.startTime <= :endTime
+          AND c.endTime >= :startTime
+    """)
+    List<CalendarAvailability> findTouchingAvailability(
+            @Param("providerId") Long providerId,
+            @Param("startTime") OffsetDateTime startTime,
+            @Param("endTime") OffsetDateTime endTime
+    );
 }
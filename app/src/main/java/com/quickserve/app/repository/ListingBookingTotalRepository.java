@@ -0,0 +1,64 @@
+package com.quickserve.app.repository;
+
+import com.quickserve.app.model.ListingBookingTotal;
+import com.quickserve.app.repository.projection.TopServiceProjection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ListingBookingTotalRepository extends JpaRepository<ListingBookingTotal, Long> {
+
+    // Counts the booking against its listing at the booking's price; creates the row on the first one
+    @Modifying
+    @Query(value = """
+        INSERT INTO listing_booking_totals AS t (service_listing_id, bookings, revenue)
+        SELECT b.service_listing_id, 1, b.price
+        FROM bookings b
+        WHERE b.id = :bookingId
+        ON CONFLICT (service_listing_id) DO UPDATE
+        SET bookings = t.bookings + 1,
+            revenue  = t.revenue + EXCLUDED.revenue
+    """, nativeQuery = true)
+    int addBooking(@Param("bookingId") Long bookingId);
+
+    // Recomputes every listing from bookings; returns the number of rows that had drifted
+    @Query(value = """
+        WITH fresh AS (
+            SELECT b.service_listing_id, count(*) AS bookings, sum(b.price) AS revenue
+            FROM bookings b
+            GROUP BY b.service_listing_id
+        ), corrected AS (
+            INSERT INTO listing_booking_totals AS t (service_listing_id, bookings, revenue)
+            SELECT service_listing_id, bookings, revenue FROM fresh
+            ON CONFLICT (service_listing_id) DO UPDATE
+            SET bookings = EXCLUDED.bookings,
+                revenue  = EXCLUDED.revenue
+            WHERE (t.bookings, t.revenue) <> (EXCLUDED.bookings, EXCLUDED.revenue)
+            RETURNING 1
+        ), zeroed AS (
+            UPDATE listing_booking_totals t
+            SET bookings = 0, revenue = 0
+            WHERE (t.bookings <> 0 OR t.revenue <> 0)
+              AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.service_listing_id = t.service_listing_id)
+            RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM corrected) + (SELECT count(*) FROM zeroed)
+    """, nativeQuery = true)
+    int reconcile();
+
+    // Most booked listings first, read off idx_listing_booking_totals_bookings
+    @Query("""
+        SELECT s.title AS title,
+               s.category AS category,
+               t.bookings AS bookings,
+               t.revenue AS revenue
+        FROM ListingBookingTotal t
+        JOIN t.serviceListing s
+        ORDER BY t.bookings DESC, t.serviceListingId
+    """)
+    List<TopServiceProjection> findTop(Pageable pageable);
+}
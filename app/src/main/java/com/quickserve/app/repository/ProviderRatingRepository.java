@@ -0,0 +1,84 @@
+package com.quickserve.app.repository;
+
+import com.quickserve.app.model.ProviderRating;
+import com.quickserve.app.model.RatingHistogram;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProviderRatingRepository extends JpaRepository<ProviderRating, Long> {
+
+    // One more review for the provider; creates the row on the first one
+    @Modifying
+    @Query(value = """
+        INSERT INTO provider_ratings (provider_id, rating_count, rating_sum,
+                                      stars_1, stars_2, stars_3, stars_4, stars_5)
+        VALUES (:providerId, 1, :stars,
+                CASE WHEN :stars = 1 THEN 1 ELSE 0 END,
+                CASE WHEN :stars = 2 THEN 1 ELSE 0 END,
+                CASE WHEN :stars = 3 THEN 1 ELSE 0 END,
+                CASE WHEN :stars = 4 THEN 1 ELSE 0 END,
+                CASE WHEN :stars = 5 THEN 1 ELSE 0 END)
+        ON CONFLICT (provider_id) DO UPDATE
+        SET rating_count = provider_ratings.rating_count + 1,
+            rating_sum   = provider_ratings.rating_sum + EXCLUDED.rating_sum,
+            stars_1      = provider_ratings.stars_1 + EXCLUDED.stars_1,
+            stars_2      = provider_ratings.stars_2 + EXCLUDED.stars_2,
+            stars_3      = provider_ratings.stars_3 + EXCLUDED.stars_3,
+            stars_4      = provider_ratings.stars_4 + EXCLUDED.stars_4,
+            stars_5      = provider_ratings.stars_5 + EXCLUDED.stars_5
+    """, nativeQuery = true)
+    void addReview(@Param("providerId") Long providerId, @Param("stars") int stars);
+
+    // Recomputes every provider from reviews and zeroes providers left without any;
+    // returns the number of rows that had drifted
+    @Query(value = """
+        WITH fresh AS (
+            SELECT provider_id, count(*) AS rating_count, sum(stars) AS rating_sum,
+                   count(*) FILTER (WHERE stars = 1) AS stars_1,
+                   count(*) FILTER (WHERE stars = 2) AS stars_2,
+                   count(*) FILTER (WHERE stars = 3) AS stars_3,
+                   count(*) FILTER (WHERE stars = 4) AS stars_4,
+                   count(*) FILTER (WHERE stars = 5) AS stars_5
+            FROM reviews
+            GROUP BY provider_id
+        ), corrected AS (
+            INSERT INTO provider_ratings AS p (provider_id, rating_count, rating_sum,
+                                               stars_1, stars_2, stars_3, stars_4, stars_5)
+            SELECT provider_id, rating_count, rating_sum, stars_1, stars_2, stars_3, stars_4, stars_5
+            FROM fresh
+            ON CONFLICT (provider_id) DO UPDATE
+            SET rating_count = EXCLUDED.rating_count,
+                rating_sum   = EXCLUDED.rating_sum,
+                stars_1 = EXCLUDED.stars_1, stars_2 = EXCLUDED.stars_2, stars_3 = EXCLUDED.stars_3,
+                stars_4 = EXCLUDED.stars_4, stars_5 = EXCLUDED.stars_5
+            WHERE (p.rating_count, p.rating_sum, p.stars_1, p.stars_2, p.stars_3, p.stars_4, p.stars_5)
+                  <> (EXCLUDED.rating_count, EXCLUDED.rating_sum, EXCLUDED.stars_1, EXCLUDED.stars_2,
+                      EXCLUDED.stars_3, EXCLUDED.stars_4, EXCLUDED.stars_5)
+            RETURNING 1
+        ), zeroed AS (
+            UPDATE provider_ratings p
+            SET rating_count = 0, rating_sum = 0,
+                stars_1 = 0, stars_2 = 0, stars_3 = 0, stars_4 = 0, stars_5 = 0
+            WHERE (p.rating_count <> 0 OR p.rating_sum <> 0
+                   OR p.stars_1 <> 0 OR p.stars_2 <> 0 OR p.stars_3 <> 0 OR p.stars_4 <> 0 OR p.stars_5 <> 0)
+              AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.provider_id = p.provider_id)
+            RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM corrected) + (SELECT count(*) FROM zeroed)
+    """, nativeQuery = true)
+    int reconcile();
+
+    // Platform-wide star counts: one row per provider instead of one per review
+    @Query("""
+        SELECT new com.quickserve.app.model.RatingHistogram(
+            COALESCE(SUM(p.ratingHistogram.stars1), 0),
+            COALESCE(SUM(p.ratingHistogram.stars2), 0),
+            COALESCE(SUM(p.ratingHistogram.stars3), 0),
+            COALESCE(SUM(p.ratingHistogram.stars4), 0),
+            COALESCE(SUM(p.ratingHistogram.stars5), 0))
+        FROM ProviderRating p
+    """)
+    RatingHistogram sumHistograms();
+}
@@ -1,19 +1,63 @@
 package com.quickserve.app.repository;
 
+import com.quickserve.app.dto.ReviewResponse;
 import com.quickserve.app.model.Booking;
 import com.quickserve.app.model.Review;
 import com.quickserve.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
-public interface ReviewRepository extends JpaRepository<Review, Long> {
+public interface ReviewRepository extends JpaRepository<Review, Long>,
+        JpaSpecificationExecutor<Review> {
     Optional<Review> findByBookingId(Long bookingId);
     boolean existsByBookingId(Long bookingId);
     List<Review> findByUserId(Long userId);
     List<Review> findByProviderId(Long providerId);
     List<Review> findByBooking_ServiceListingId(Long serviceListingId);
     boolean existsByBookingAndUser(Booking booking, User user);
- }
+
+    // ---------- PUBLIC PROVIDER REVIEWS ----------
+    // Served from idx_reviews_provider_created (db/migration/V4), newest first,
+    // as DTOs: neither the booking nor the users are loaded.
+
+    @Query("""
+    SELECT new com.quickserve.app.dto.ReviewResponse(
+        r.id, r.booking.id, r.user.id, r.provider.id, r.stars, r.comment, r.createdAt)
+    FROM Review r
+    WHERE r.provider.id = :providerId
+    ORDER BY r.createdAt DESC, r.id DESC
+""")
+    List<ReviewResponse> findAllResponsesByProviderId(@Param("providerId") Long providerId);
+
+    // Keyset pages: pass PageRequest.of(0, size + 1), no count query is issued
+    @Query("""
+    SELECT new com.quickserve.app.dto.ReviewResponse(
+        r.id, r.booking.id, r.user.id, r.provider.id, r.stars, r.comment, r.createdAt)
+    FROM Review r
+    WHERE r.provider.id = :providerId
+    ORDER BY r.createdAt DESC, r.id DESC
+""")
+    List<ReviewResponse> findResponsesByProviderId(@Param("providerId") Long providerId, Pageable pageable);
+
+    @Query("""
+    SELECT new com.quickserve.app.dto.ReviewResponse(
+        r.id, r.booking.id, r.user.id, r.provider.id, r.stars, r.comment, r.createdAt)
+    FROM Review r
+    WHERE r.provider.id = :providerId
+      AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+    ORDER BY r.createdAt DESC, r.id DESC
+""")
+    List<ReviewResponse> findResponsesByProviderIdBefore(
+            @Param("providerId") Long providerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+}
@@ -1,49 +1,108 @@
 package com.quickserve.app.repository;
 
+import com.quickserve.app.dto.ListingSummaryResponse;
 import com.quickserve.app.dto.ServiceListingResponse;
 import com.quickserve.app.model.ServiceListing;
 import com.quickserve.app.model.User;
-import com.quickserve.app.repository.projection.CategoryShareProjection;
-import com.quickserve.app.repository.projection.RatingDistributionProjection;
+import jakarta.persistence.QueryHint;
+import com.quickserve.app.repository.projection.ListingSuggestProjection;
 import com.quickserve.app.repository.projection.ServicePerformanceProjection;
-import com.quickserve.app.repository.projection.TopServiceProjection;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.domain.Pageable;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ServiceListingRepository extends JpaRepository<ServiceListing, Long> {
+public interface ServiceListingRepository extends JpaRepository<ServiceListing, Long>,
+        JpaSpecificationExecutor<ServiceListing> {
     // Existing methods (UNCHANGED)
     List<ServiceListing> findByProvider(User provider);
+    @EntityGraph(attributePaths = {"provider", "provider.providerDetails"})
     List<ServiceListing> findByApprovedTrue();
     List<ServiceListing> findByCategory(String category);
     List<ServiceListing> findByTitleContainingIgnoreCase(String keyword);
     List<ServiceListing> findByLocationContainingIgnoreCase(String location);
     List<ServiceListing> findByProviderId(Long providerId);
     Optional<ServiceListing> findByIdAndProviderId(Long id, Long providerId);
+
+    // Just the owner, to pick the booking admission stripe before any locking
+    @Query("SELECT s.provider.id FROM ServiceListing s WHERE s.id = :id")
+    Optional<Long> findProviderIdById(@Param("id") Long id);
+    @EntityGraph(attributePaths = {"provider", "provider.providerDetails"})
     List<ServiceListing> findByApprovedFalse();
 
-    // Total revenue = sum of prices of active listings
-    @Query("""
-        SELECT COALESCE(SUM(s.price), 0)
-        FROM ServiceListing s
-        WHERE s.active = true
-    """)
-    BigDecimal getTotalRevenue();
+    // Filter results are always rendered with the provider name. The graphs also fetch
+    // provider.providerDetails: as the inverse side of a one-to-one it is never lazy,
+    // and would otherwise cost one query per provider
+    @Override
+    @EntityGraph(attributePaths = {"provider", "provider.providerDetails"})
+    Page<ServiceListing> findAll(Specification<ServiceListing> spec, Pageable pageable);
 
-    // Platform average rating (weighted-safe, simple)
-    @Query("""
-        SELECT COALESCE(AVG(s.avgRating), 0)
-        FROM ServiceListing s
-        WHERE s.ratingCount > 0
-    """)
-    Double getAverageRating();
+
+    // ---------- RATING AGGREGATES (see RatingAggregateServiceImpl) ----------
+
+    // Adds one review in place, so concurrent reviews of a listing never lose an update
+    @Modifying
+    @Query(value = """
+        UPDATE service_listings
+        SET rating_count = COALESCE(rating_count, 0) + 1,
+            rating_sum   = rating_sum + :stars,
+            avg_rating   = round(CAST(rating_sum + :stars AS numeric) / (COALESCE(rating_count, 0) + 1), 1),
+            stars_1      = stars_1 + CASE WHEN :stars = 1 THEN 1 ELSE 0 END,
+            stars_2      = stars_2 + CASE WHEN :stars = 2 THEN 1 ELSE 0 END,
+            stars_3      = stars_3 + CASE WHEN :stars = 3 THEN 1 ELSE 0 END,
+            stars_4      = stars_4 + CASE WHEN :stars = 4 THEN 1 ELSE 0 END,
+            stars_5      = stars_5 + CASE WHEN :stars = 5 THEN 1 ELSE 0 END
+        WHERE id = :id
+    """, nativeQuery = true)
+    int addReview(@Param("id") Long id, @Param("stars") int stars);
+
+    // Recomputes every listing from reviews; returns the number of rows that had drifted
+    @Modifying
+    @Query(value = """
+        UPDATE service_listings s
+        SET rating_count = r.cnt,
+            rating_sum   = r.total,
+            avg_rating   = CASE WHEN r.cnt = 0 THEN 0 ELSE round(CAST(r.total AS numeric) / r.cnt, 1) END,
+            stars_1 = r.s1, stars_2 = r.s2, stars_3 = r.s3, stars_4 = r.s4, stars_5 = r.s5
+        FROM (
+            SELECT l.id,
+                   COALESCE(agg.cnt, 0) AS cnt, COALESCE(agg.total, 0) AS total,
+                   COALESCE(agg.s1, 0) AS s1, COALESCE(agg.s2, 0) AS s2, COALESCE(agg.s3, 0) AS s3,
+                   COALESCE(agg.s4, 0) AS s4, COALESCE(agg.s5, 0) AS s5
+            FROM service_listings l
+            LEFT JOIN (
+                SELECT b.service_listing_id, count(*) AS cnt, sum(rv.stars) AS total,
+                       count(*) FILTER (WHERE rv.stars = 1) AS s1,
+                       count(*) FILTER (WHERE rv.stars = 2) AS s2,
+                       count(*) FILTER (WHERE rv.stars = 3) AS s3,
+                       count(*) FILTER (WHERE rv.stars = 4) AS s4,
+                       count(*) FILTER (WHERE rv.stars = 5) AS s5
+                FROM reviews rv
+                JOIN bookings b ON b.id = rv.booking_id
+                GROUP BY b.service_listing_id
+            ) agg ON agg.service_listing_id = l.id
+        ) r
+        WHERE r.id = s.id
+          AND (s.rating_count IS DISTINCT FROM r.cnt OR s.rating_sum <> r.total
+               OR (s.stars_1, s.stars_2, s.stars_3, s.stars_4, s.stars_5)
+                  <> (r.s1, r.s2, r.s3, r.s4, r.s5))
+    """, nativeQuery = true)
+    int reconcileRatings();
 
     // ---------- APPROVAL STATS ----------
 
@@ -62,7 +121,7 @@ public interface ServiceListingRepository extends JpaRepository<ServiceListing,
     @Query("""
 SELECT s.title AS title,
        COUNT(b) AS bookings,
-       COALESCE(SUM(s.price), 0) AS revenue
+       COALESCE(SUM(b.price), 0) AS revenue
 FROM Booking b
 JOIN b.serviceListing s
 GROUP BY s.id, s.title
@@ -73,54 +132,176 @@ ORDER BY COUNT(b) DESC
 
 
 
-    @Query("""
-SELECT s.avgRating AS rating, COUNT(s) AS count
-FROM ServiceListing s
-WHERE s.ratingCount > 0
-GROUP BY s.avgRating
-""")
-    List<RatingDistributionProjection> getRatingDistribution();
 
 
+    @EntityGraph(attributePaths = {"provider", "provider.providerDetails"})
     Page<ServiceListing> findByActiveTrue(Pageable pageable);
     List<ServiceListing> findByActiveTrue();
 
-    @Query("""
-    SELECT s FROM ServiceListing s
+    // Full-text search on the generated search_vector column (see db/migration/V2),
+    // best matches first. :query must be built with TsQueryBuilder.
+    // Returns ids only; rows are hydrated with findSummariesByIdIn.
+    @Query(value = """
+    SELECT s.id FROM service_listings s
     WHERE s.active = true
-    AND (
-        LOWER(s.title) LIKE LOWER(CONCAT('%', :keyword, '%'))
-        OR LOWER(s.description) LIKE LOWER(CONCAT('%', :keyword, '%'))
-        OR LOWER(s.location) LIKE LOWER(CONCAT('%', :keyword, '%'))
-    )
-""")
-    Page<ServiceListing> searchActiveListings(
-            @Param("keyword") String keyword,
+      AND s.search_vector @@ to_tsquery('english', :query)
+    ORDER BY ts_rank(s.search_vector, to_tsquery('english', :query)) DESC, s.id
+""",
+            countQuery = """
+    SELECT COUNT(*) FROM service_listings s
+    WHERE s.active = true
+      AND s.search_vector @@ to_tsquery('english', :query)
+""",
+            nativeQuery = true)
+    Page<Long> searchActiveListingIds(
+            @Param("query") String query,
             Pageable pageable
     );
 
+    // Listings whose provider is free for the whole of [start, end): the union of the
+    // provider's slots and recurring-rule occurrences contains the window, and no
+    // live booking overlaps it. One set-based pass over all providers; the probes
+    // use the GiST indexes from db/migration/V2. Rule occurrences are
+    // generated per local date in the rule's zone (see AvailabilityServiceImpl.Rule).
+    String AVAILABLE_LISTINGS_WHERE = """
+    WHERE s.approved = true
+      AND s.active = true
+      AND s.category = :category
+      AND (CAST(:location AS text) IS NULL OR lower(s.location) = lower(CAST(:location AS text)))
+      AND (
+          SELECT range_agg(w.slot) FROM (
+              SELECT tstzrange(c.start_time, c.end_time, '[)') AS slot
+              FROM calendar_availability c
+              WHERE c.provider_id = s.provider_id
+                AND tstzrange(c.start_time, c.end_time, '[)') && tstzrange(:start, :end, '[)')
+              UNION ALL
+              SELECT tstzrange((d.day + r.start_time) AT TIME ZONE r.zone,
+                               (d.day + r.end_time) AT TIME ZONE r.zone, '[)')
+              FROM availability_rules r
+              CROSS JOIN LATERAL (
+                  SELECT CAST(g AS date) AS day
+                  FROM generate_series(CAST(:start AS date) - 1, CAST(:end AS date) + 1, interval '1 day') g
+              ) d
+              WHERE r.provider_id = s.provider_id
+                AND r.day_of_week = trim(to_char(d.day, 'DAY'))
+                AND (r.valid_from IS NULL OR d.day >= r.valid_from)
+                AND (r.valid_until IS NULL OR d.day <= r.valid_until)
+                AND NOT EXISTS (
+                    SELECT 1 FROM availability_rule_exceptions e
+                    WHERE e.rule_id = r.id AND e.excluded_date = d.day
+                )
+          ) w
+      ) @> tstzrange(:start, :end, '[)')
+      AND NOT EXISTS (
+          SELECT 1 FROM bookings b
+          WHERE b.provider_id = s.provider_id
+            AND b.status <> 'CANCELLED'
+            AND b.time_range && tstzrange(:start, :end, '[)')
+      )
+""";
 
+    @Query(value = "SELECT s.id FROM service_listings s " + AVAILABLE_LISTINGS_WHERE
+            + " ORDER BY s.avg_rating DESC NULLS LAST, s.id",
+            countQuery = "SELECT COUNT(*) FROM service_listings s " + AVAILABLE_LISTINGS_WHERE,
+            nativeQuery = true)
+    Page<Long> findAvailableListingIds(
+            @Param("category") String category,
+            @Param("location") String location,
+            @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end,
+            Pageable pageable
+    );
+
+    // ---------- SUMMARY PROJECTIONS (public browse / search) ----------
+
+    // Keyset pages over approved listings, newest first.
+    // Pass PageRequest.of(0, size + 1): no count query is issued for a List result.
     @Query("""
-SELECT s.category AS category, COUNT(b) AS count
-FROM Booking b
-JOIN b.serviceListing s
-GROUP BY s.category
+    SELECT new com.quickserve.app.dto.ListingSummaryResponse(
+        s.id, s.title, s.price, s.location, s.category, s.avgRating, s.ratingCount,
+        p.id, p.username,
+        (SELECT i.imageUrl FROM ListingImage i
+         WHERE i.id = (SELECT MIN(i2.id) FROM ListingImage i2 WHERE i2.listing = s)),
+        s.createdAt)
+    FROM ServiceListing s
+    JOIN s.provider p
+    WHERE s.approved = true
+    ORDER BY s.createdAt DESC, s.id DESC
 """)
-    List<CategoryShareProjection> getCategoryShare();
+    List<ListingSummaryResponse> findApprovedSummaries(Pageable pageable);
 
     @Query("""
-SELECT s.title AS title,
-       s.category AS category,
-       COUNT(b) AS bookings,
-       COALESCE(SUM(s.price), 0) AS revenue
-FROM Booking b
-JOIN b.serviceListing s
-GROUP BY s.id, s.title, s.category
-ORDER BY COUNT(b) DESC
+    SELECT new com.quickserve.app.dto.ListingSummaryResponse(
+        s.id, s.title, s.price, s.location, s.category, s.avgRating, s.ratingCount,
+        p.id, p.username,
+        (SELECT i.imageUrl FROM ListingImage i
+         WHERE i.id = (SELECT MIN(i2.id) FROM ListingImage i2 WHERE i2.listing = s)),
+        s.createdAt)
+    FROM ServiceListing s
+    JOIN s.provider p
+    WHERE s.approved = true
+      AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id))
+    ORDER BY s.createdAt DESC, s.id DESC
 """)
-    Page<TopServiceProjection> getTopServices(Pageable pageable);
+    List<ListingSummaryResponse> findApprovedSummariesBefore(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 
+    // Same order as the keyset pages, as a forward-only cursor for NDJSON export.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+    SELECT new com.quickserve.app.dto.ListingSummaryResponse(
+        s.id, s.title, s.price, s.location, s.category, s.avgRating, s.ratingCount,
+        p.id, p.username,
+        (SELECT i.imageUrl FROM ListingImage i
+         WHERE i.id = (SELECT MIN(i2.id) FROM ListingImage i2 WHERE i2.listing = s)),
+        s.createdAt)
+    FROM ServiceListing s
+    JOIN s.provider p
+    WHERE s.approved = true
+    ORDER BY s.createdAt DESC, s.id DESC
+""")
+    Stream<ListingSummaryResponse> streamApprovedSummaries();
 
+    @Query(value = """
+    SELECT new com.quickserve.app.dto.ListingSummaryResponse(
+        s.id, s.title, s.price, s.location, s.category, s.avgRating, s.ratingCount,
+        p.id, p.username,
+        (SELECT i.imageUrl FROM ListingImage i
+         WHERE i.id = (SELECT MIN(i2.id) FROM ListingImage i2 WHERE i2.listing = s)),
+        s.createdAt)
+    FROM ServiceListing s
+    JOIN s.provider p
+    WHERE s.active = true
+""",
+            countQuery = "SELECT COUNT(s) FROM ServiceListing s WHERE s.active = true")
+    Page<ListingSummaryResponse> findActiveSummaries(Pageable pageable);
+
+    @Query("""
+    SELECT new com.quickserve.app.dto.ListingSummaryResponse(
+        s.id, s.title, s.price, s.location, s.category, s.avgRating, s.ratingCount,
+        p.id, p.username,
+        (SELECT i.imageUrl FROM ListingImage i
+         WHERE i.id = (SELECT MIN(i2.id) FROM ListingImage i2 WHERE i2.listing = s)),
+        s.createdAt)
+    FROM ServiceListing s
+    JOIN s.provider p
+    WHERE s.id IN :ids
+""")
+    List<ListingSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
 
+
+    // Forward-only cursor over publicly visible listings for the typeahead index.
+    // Must be consumed inside a transaction and closed by the caller.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+SELECT s.id AS id, s.title AS title, s.location AS location, s.category AS category
+FROM ServiceListing s
+WHERE s.approved = true AND s.active = true
+""")
+    Stream<ListingSuggestProjection> streamSuggestSource();
 }
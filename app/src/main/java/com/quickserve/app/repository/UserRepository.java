@@ -1,16 +1,57 @@
 package com.quickserve.app.repository;
 
-import com.quickserve.app.model.Role;
 import com.quickserve.app.model.User;
+import com.quickserve.app.repository.projection.AdminUserView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public  interface UserRepository extends JpaRepository<User, Long> {
+public  interface UserRepository extends JpaRepository<User, Long>,
+        JpaSpecificationExecutor<User> {
     Optional<User> findByEmail(String email);
-    long countByRole(Role role);
 
+    // ---------- ADMIN USER DIRECTORY ----------
+    // A page of ids (sorted by the Pageable), hydrated with findAdminViewsByIdIn.
 
+    @Query(value = "SELECT u.id FROM User u",
+            countQuery = "SELECT COUNT(u) FROM User u")
+    Page<Long> findDirectoryIds(Pageable pageable);
+
+    // :prefix is lower-case, with % _ and ! escaped by ! and a trailing %;
+    // served by the lower(...) text_pattern_ops indexes from db/migration/V7
+    @Query(value = """
+        SELECT u.id FROM User u
+        WHERE LOWER(u.username) LIKE :prefix ESCAPE '!'
+           OR LOWER(u.email) LIKE :prefix ESCAPE '!'
+    """,
+            countQuery = """
+        SELECT COUNT(u) FROM User u
+        WHERE LOWER(u.username) LIKE :prefix ESCAPE '!'
+           OR LOWER(u.email) LIKE :prefix ESCAPE '!'
+    """)
+    Page<Long> searchDirectoryIds(@Param("prefix") String prefix, Pageable pageable);
+
+    // Keyset page of ids, newest first
+    @Query("SELECT u.id FROM User u WHERE u.id < :before ORDER BY u.id DESC")
+    List<Long> findIdsBefore(@Param("before") long before, Pageable pageable);
+
+    // Booking counts come from one GROUP BY over the listed users' bookings
+    @Query("""
+        SELECT u.id AS id, u.username AS name, u.email AS email, u.role AS role,
+               COALESCE(bc.bookings, 0) AS bookings
+        FROM User u
+        LEFT JOIN (SELECT b.userId AS userId, COUNT(b) AS bookings
+                   FROM Booking b
+                   WHERE b.userId IN :ids
+                   GROUP BY b.userId) bc ON bc.userId = u.id
+        WHERE u.id IN :ids
+    """)
+    List<AdminUserView> findAdminViewsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,44 @@
+package com.quickserve.app.repository;
+
+import com.quickserve.app.model.UserRoleTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface UserRoleTotalRepository extends JpaRepository<UserRoleTotal, String> {
+
+    // Counts one more user of the role; creates the row on the first one
+    @Modifying
+    @Query(value = """
+        INSERT INTO user_role_totals AS t (role, users)
+        VALUES (:role, 1)
+        ON CONFLICT (role) DO UPDATE
+        SET users = t.users + 1
+    """, nativeQuery = true)
+    int addUser(@Param("role") String role);
+
+    // Recounts every role from users; returns the number of rows that had drifted
+    @Query(value = """
+        WITH fresh AS (
+            SELECT COALESCE(u.role, 'UNASSIGNED') AS role, count(*) AS users
+            FROM users u
+            GROUP BY 1
+        ), corrected AS (
+            INSERT INTO user_role_totals AS t (role, users)
+            SELECT role, users FROM fresh
+            ON CONFLICT (role) DO UPDATE
+            SET users = EXCLUDED.users
+            WHERE t.users <> EXCLUDED.users
+            RETURNING 1
+        ), zeroed AS (
+            UPDATE user_role_totals t
+            SET users = 0
+            WHERE t.users <> 0
+              AND NOT EXISTS (SELECT 1 FROM fresh f WHERE f.role = t.role)
+            RETURNING 1
+        )
+        SELECT (SELECT count(*) FROM corrected) + (SELECT count(*) FROM zeroed)
+    """, nativeQuery = true)
+    int reconcile();
+}
@@ -2,16 +2,11 @@ package com.quickserve.app.repository.projection;
 
 import com.quickserve.app.model.Role;
 
-import java.time.OffsetDateTime;
-
+// One row of the admin user directory (see UserRepository.findAdminViewsByIdIn)
 public interface AdminUserView {
     Long getId();
     String getName();
     String getEmail();
-    String getPhone();
     Role getRole();
-    boolean isActive();
-    OffsetDateTime getCreatedAt();
     long getBookings();
 }
-
@@ -0,0 +1,10 @@
+package com.quickserve.app.repository.projection;
+
+import com.quickserve.app.model.Category;
+
+public interface ListingSuggestProjection {
+    Long getId();
+    String getTitle();
+    String getLocation();
+    Category getCategory();
+}
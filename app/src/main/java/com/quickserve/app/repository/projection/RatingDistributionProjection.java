@@ -1,7 +0,0 @@
-package com.quickserve.app.repository.projection;
-
-public interface RatingDistributionProjection {
-    Integer getRating();
-    Long getCount();
-}
-
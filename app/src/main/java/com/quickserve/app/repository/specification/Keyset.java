@@ -0,0 +1,112 @@
+package com.quickserve.app.repository.specification;
+
+import com.quickserve.app.dto.CursorPage;
+import com.quickserve.app.utils.SeekCursor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Seek (keyset) pagination over an entity, newest first.
+ * <p>
+ * Pages are ordered by {@code (time DESC, id DESC)} and the next page is selected with
+ * {@code time < :t OR (time = :t AND id < :id)}, so page 10,000 costs the same index
+ * range scan as page 1. Any repository that extends {@link JpaSpecificationExecutor}
+ * can opt in:
+ * <pre>
+ * Keyset.byOffsetDateTime("createdAt", Booking::getCreatedAt, Booking::getId)
+ *       .fetch(bookingRepository, forUser, cursor, size, this::toResponse);
+ * </pre>
+ */
+public final class Keyset<T> {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final String timeAttribute;                       // null: order by id only
+    private final Function<SeekCursor, Comparable<?>> timeValue;
+    private final Function<T, SeekCursor> cursorOf;
+
+    private Keyset(String timeAttribute,
+                   Function<SeekCursor, Comparable<?>> timeValue,
+                   Function<T, SeekCursor> cursorOf) {
+        this.timeAttribute = timeAttribute;
+        this.timeValue = timeValue;
+        this.cursorOf = cursorOf;
+    }
+
+    public static <T> Keyset<T> byLocalDateTime(String attribute,
+                                                Function<T, LocalDateTime> time,
+                                                Function<T, Long> id) {
+        return new Keyset<>(attribute, SeekCursor::localDateTime,
+                entity -> SeekCursor.of(time.apply(entity), id.apply(entity)));
+    }
+
+    public static <T> Keyset<T> byOffsetDateTime(String attribute,
+                                                 Function<T, OffsetDateTime> time,
+                                                 Function<T, Long> id) {
+        return new Keyset<>(attribute, SeekCursor::offsetDateTime,
+                entity -> SeekCursor.of(time.apply(entity), id.apply(entity)));
+    }
+
+    // For tables without a creation timestamp; ids are monotonic anyway
+    public static <T> Keyset<T> byId(Function<T, Long> id) {
+        return new Keyset<>(null, null,
+                entity -> new SeekCursor(Instant.EPOCH, id.apply(entity)));
+    }
+
+    public Sort sort() {
+        return timeAttribute == null
+                ? Sort.by(Sort.Direction.DESC, "id")
+                : Sort.by(Sort.Direction.DESC, timeAttribute, "id");
+    }
+
+    /**
+     * @return the predicate selecting rows after {@code cursor}, or {@code null} for the first page
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Specification<T> after(SeekCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (timeAttribute == null) {
+            return (root, query, cb) -> cb.lessThan(root.get("id"), cursor.id());
+        }
+        Comparable time = timeValue.apply(cursor);
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get(timeAttribute), time),
+                cb.and(
+                        cb.equal(root.get(timeAttribute), time),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
+    /**
+     * Runs one page query ({@code LIMIT size + 1}, no count query) and maps the rows.
+     *
+     * @param filter    the caller's own predicate, e.g. "bookings of this user"
+     * @param fetch     associations to load with the page, to keep the mapper free of N+1
+     */
+    public <R> CursorPage<R> fetch(JpaSpecificationExecutor<T> repository,
+                                   Specification<T> filter,
+                                   String cursor,
+                                   int size,
+                                   Function<T, R> mapper,
+                                   String... fetch) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Specification<T> spec = Specification.where(filter).and(after(SeekCursor.decode(cursor)));
+
+        List<T> rows = repository.findBy(spec, query -> {
+            var q = query.sortBy(sort()).limit(pageSize + 1);
+            return fetch.length == 0 ? q.all() : q.project(fetch).all();
+        });
+
+        return CursorPage.of(rows, pageSize, cursorOf).map(mapper);
+    }
+}
@@ -0,0 +1,76 @@
+package com.quickserve.app.repository.specification;
+
+import com.quickserve.app.dto.ListingFilterRequest;
+import com.quickserve.app.model.Category;
+import com.quickserve.app.model.ServiceListing;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+
+/**
+ * Composable predicates over {@link ServiceListing}.
+ * Each factory returns {@code null} when its input is empty so that
+ * {@link Specification#where} / {@code and} simply skip it.
+ */
+public final class ServiceListingSpecifications {
+
+    private ServiceListingSpecifications() {
+    }
+
+    public static Specification<ServiceListing> fromFilter(ListingFilterRequest filter) {
+        return Specification.where(isApproved())
+                .and(hasCategory(filter.getCategory()))
+                .and(locationEquals(filter.getLocation()))
+                .and(priceAtLeast(filter.getMinPrice()))
+                .and(priceAtMost(filter.getMaxPrice()))
+                .and(titleOrDescriptionContains(filter.getKeyword()));
+    }
+
+    public static Specification<ServiceListing> isApproved() {
+        return (root, query, cb) -> cb.isTrue(root.get("approved"));
+    }
+
+    public static Specification<ServiceListing> hasCategory(Category category) {
+        if (category == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static Specification<ServiceListing> locationEquals(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String value = location.trim().toLowerCase();
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("location")), value);
+    }
+
+    public static Specification<ServiceListing> priceAtLeast(BigDecimal minPrice) {
+        if (minPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<ServiceListing> priceAtMost(BigDecimal maxPrice) {
+        if (maxPrice == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<ServiceListing> titleOrDescriptionContains(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        // The keyword is matched literally: LIKE wildcards in it are escaped with !
+        String pattern = "%" + keyword.trim().toLowerCase()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern, '!'),
+                cb.like(cb.lower(root.get("description")), pattern, '!')
+        );
+    }
+}
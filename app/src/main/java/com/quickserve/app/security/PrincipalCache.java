@@ -0,0 +1,95 @@
+package com.quickserve.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Principals of recently seen JWTs, keyed by the raw token.
+ * <p>
+ * A hit skips both signature verification and the user lookup. Entries never
+ * outlive their token, and {@link #revoke(String)} drops every cached token of
+ * a user and rejects any token of theirs issued before the call. Revocations
+ * are held in memory for one token lifetime, per instance.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, CachedPrincipal> byToken;
+    private final Cache<String, Instant> revokedAt;
+
+    public PrincipalCache(
+            @Value("${jwt.principal-cache.max-size:10000}") long maxSize,
+            @Value("${jwt.principal-cache.ttl:PT5M}") Duration ttl,
+            @Value("${jwt.expiration}") long tokenLifetimeMillis,
+            MeterRegistry meterRegistry
+    ) {
+        this.byToken = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(ttl))
+                .recordStats()
+                .build();
+        this.revokedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenLifetimeMillis))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byToken, "jwt.principals");
+    }
+
+    public UserDetails get(String token) {
+        CachedPrincipal cached = byToken.getIfPresent(token);
+        return cached != null ? cached.user() : null;
+    }
+
+    public void put(String token, UserDetails user, Instant issuedAt, Instant expiresAt) {
+        byToken.put(token, new CachedPrincipal(user, issuedAt, expiresAt));
+    }
+
+    public boolean isRevoked(String email, Instant issuedAt) {
+        Instant revoked = revokedAt.getIfPresent(email);
+        // iat has second precision, so compare at that precision
+        return revoked != null && issuedAt != null
+                && issuedAt.isBefore(revoked.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    // Call after a role change, password change, ban or logout-everywhere
+    public void revoke(String email) {
+        revokedAt.put(email, Instant.now());
+        byToken.asMap().values().removeIf(cached -> cached.user().getUsername().equals(email));
+    }
+
+    private record CachedPrincipal(UserDetails user, Instant issuedAt, Instant expiresAt) {
+    }
+
+    // Cache for at most ttl, and never past the token's own expiry
+    private record UntilTokenExpiry(Duration ttl) implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String token, CachedPrincipal cached, long currentTime) {
+            if (cached.expiresAt() == null) {
+                return ttl.toNanos();
+            }
+            Duration left = Duration.between(Instant.now(), cached.expiresAt());
+            return Math.max(0, Math.min(ttl.toNanos(), left.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, CachedPrincipal cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, CachedPrincipal cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
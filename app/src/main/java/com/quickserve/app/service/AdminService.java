@@ -1,6 +1,9 @@
 package com.quickserve.app.service;
 
 import com.quickserve.app.dto.*;
+import com.quickserve.app.repository.projection.AdminUserView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Map;
@@ -12,10 +15,16 @@ public interface AdminService {
        (unchanged – still Map-based)
        ============================ */
 
-    List<Map<String, Object>> getAllUsers();
+    CursorPage<Map<String, Object>> getAllUsers(String cursor, int size);
+
+    // Sortable by name, email or id; search matches a name or email prefix
+    Page<AdminUserView> getUserDirectory(String search, Pageable pageable);
 
     Map<String, Object> getUserStats();
 
+    // Invalidates every token issued to the user so far
+    void revokeSessions(Long userId);
+
     List<Map<String, Object>> getPendingListings();
 
     void approveListing(Long listingId);
@@ -24,6 +33,15 @@ public interface AdminService {
 
     Map<String, Object> getApprovalStats();
 
+    // Recomputes listing and provider rating totals from the reviews table
+    Map<String, Integer> reconcileRatings();
+
+    // Recomputes the dashboard's booking rollups from the bookings table
+    Map<String, Integer> reconcileRollups();
+
+    // Recomputes the per-role user totals from the users table
+    Map<String, Integer> reconcileUserTotals();
+
 
     /* ============================
        DASHBOARD ANALYTICS (DTOs)
@@ -46,5 +64,8 @@ public interface AdminService {
        AGGREGATED DASHBOARD
        ============================ */
 
+    // Snapshot of all sections above, at most admin.dashboard.max-staleness old.
+    // Sections are loaded concurrently; any that fail or time out are listed in
+    // degradedSections and left empty. Callers that miss together share one load.
     AdminDashboardResponse getDashboard();
 }
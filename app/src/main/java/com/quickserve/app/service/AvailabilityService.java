@@ -0,0 +1,39 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.AvailabilityImportResponse;
+import com.quickserve.app.dto.TimeWindow;
+import com.quickserve.app.model.AvailabilityRule;
+import com.quickserve.app.model.CalendarAvailability;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface AvailabilityService {
+
+    enum SlotStatus { FREE, UNAVAILABLE, BOOKED }
+
+    CalendarAvailability addAvailability(Long providerId, CalendarAvailability slot);
+
+    // Validates, merges with each other and with stored slots, then batch-inserts
+    AvailabilityImportResponse importAvailability(Long providerId, List<TimeWindow> slots);
+
+    // Recurring weekly hours, expanded on demand
+    AvailabilityRule addRule(Long providerId, AvailabilityRule rule);
+
+    List<AvailabilityRule> getRules(Long providerId);
+
+    void deleteRule(Long providerId, Long ruleId);
+
+    // Whether [start, end) lies inside the provider's availability and clear of live bookings
+    SlotStatus check(Long providerId, OffsetDateTime start, OffsetDateTime end);
+
+    // Stored slots overlapping [from, to); 'from' defaults to now, and the window to, and
+    // at most, availability.cache.horizon
+    List<CalendarAvailability> getAvailability(Long providerId, OffsetDateTime from, OffsetDateTime to);
+
+    // Bookable windows of the provider within [from, to), in order
+    List<TimeWindow> freeWindows(Long providerId, OffsetDateTime from, OffsetDateTime to);
+
+    // Drop the provider's cached calendar once the current transaction commits
+    void invalidate(Long providerId);
+}
@@ -0,0 +1,9 @@
+package com.quickserve.app.service;
+
+import java.util.function.Supplier;
+
+public interface BookingAdmissionService {
+
+    // Runs action with no other admission for the same provider in flight
+    <T> T admit(Long providerId, Supplier<T> action);
+}
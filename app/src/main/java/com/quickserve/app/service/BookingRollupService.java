@@ -0,0 +1,18 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.model.Booking;
+import com.quickserve.app.model.BookingStatus;
+
+import java.util.Map;
+
+public interface BookingRollupService {
+
+    // Counts a newly stored booking; runs in the booking's transaction after its insert is flushed
+    void recordCreated(Booking booking);
+
+    // Moves a booking from its previous status to its current one; runs in the booking's transaction
+    void recordStatusChange(Booking booking, BookingStatus previous);
+
+    // Recomputes all rollups from the bookings table; returns the rows corrected per table
+    Map<String, Integer> reconcile();
+}
@@ -1,6 +1,7 @@
 package com.quickserve.app.service;
 
 import com.quickserve.app.dto.BookingDetailResponse;
+import com.quickserve.app.dto.CursorPage;
 import com.quickserve.app.dto.BookingListItemResponse;
 import com.quickserve.app.dto.BookingRequest;
 import com.quickserve.app.dto.ProviderBookingResponse;
@@ -20,6 +21,11 @@ public interface BookingService {
 
     List<ProviderBookingResponse> getBookingsForProviderByEmail(String email);
 
+    // Keyset-paginated variants, newest first
+    CursorPage<BookingListItemResponse> getBookingsForUserByEmail(String email, String cursor, int size);
+
+    CursorPage<ProviderBookingResponse> getBookingsForProviderByEmail(String email, String cursor, int size);
+
 
     Booking acceptBookingByEmail(Long bookingId, String email);
 
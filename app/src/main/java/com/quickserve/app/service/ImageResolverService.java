@@ -1,5 +1,6 @@
 package com.quickserve.app.service;
 
+import com.quickserve.app.model.Category;
 import com.quickserve.app.model.ServiceListing;
 
 import java.util.List;
@@ -7,4 +8,7 @@ import java.util.List;
 public interface ImageResolverService {
 
     List<String> resolve(ServiceListing listing);
+
+    // Cover image for a listing summary; falls back to the category default
+    String resolveCover(Category category, String imageUrl);
 }
@@ -1,13 +1,16 @@
 package com.quickserve.app.service;
 
 import com.quickserve.app.dto.*;
+import com.quickserve.app.model.Category;
 import com.quickserve.app.model.ServiceListing;
 import com.quickserve.app.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ListingService {
 
@@ -16,19 +19,30 @@ public interface ListingService {
     ServiceListing updateListing(Long listingId, ServiceListing updatedListing, User provider);
     void deleteListing(Long listingId, User provider);
     ServiceListing getListingById(Long id);
-    List<ServiceListingResponse> getAllActiveListings();
+    ServiceListingResponse getPublicListing(Long id);
+    CursorPage<ListingSummaryResponse> getAllActiveListings(String cursor, int size);
+    void streamAllActiveListings(Consumer<ListingSummaryResponse> sink);
     List<ServiceListing> getListingsByProvider(User provider);
 
-    Page<ServiceListingResponse> getAllActiveListings(Pageable pageable);
+    Page<ListingSummaryResponse> getAllActiveListings(Pageable pageable);
 
 
     // 🔥 UPDATED search method
-    Page<ServiceListingResponse> searchListings(
+    Page<ListingSummaryResponse> searchListings(
             String keyword,
             Pageable pageable
     );
 
-    List<ServiceListingResponse> filterListings(ListingFilterRequest filterRequest);
+    // Listings whose provider is free for the whole window
+    Page<ListingSummaryResponse> findAvailableListings(
+            Category category,
+            String location,
+            OffsetDateTime start,
+            OffsetDateTime end,
+            Pageable pageable
+    );
+
+    Page<ServiceListingResponse> filterListings(ListingFilterRequest filterRequest, Pageable pageable);
     ServiceListingResponse createListing(CreateListingRequest request, MultipartFile image);
     List<ProviderListingResponse> getProviderListings();
     ServiceListingResponse updateListing(Long listingId, UpdateListingRequest request);
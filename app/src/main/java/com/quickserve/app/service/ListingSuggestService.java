@@ -0,0 +1,21 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.SuggestionResponse;
+import com.quickserve.app.model.ServiceListing;
+
+import java.util.List;
+
+public interface ListingSuggestService {
+
+    // Typeahead lookup, served from memory only
+    List<SuggestionResponse> suggest(String query, int limit);
+
+    // Re-index one listing after create / update / approve / reject
+    void refresh(ServiceListing listing);
+
+    // Drop a hard-deleted listing from the index
+    void remove(Long listingId);
+
+    // Full rebuild from the database
+    void rebuild();
+}
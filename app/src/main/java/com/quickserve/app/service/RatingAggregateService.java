@@ -0,0 +1,33 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.ProviderRatingResponse;
+import com.quickserve.app.dto.RatingDistributionResponse;
+
+import java.util.List;
+import java.util.Map;
+
+public interface RatingAggregateService {
+
+    // Adds a review to its listing's and provider's aggregates; runs in the review's transaction
+    void recordReview(Long serviceListingId, Long providerId, int stars);
+
+    Double getListingAverage(Long serviceListingId);
+
+    Double getProviderAverage(Long providerId);
+
+    ProviderRatingResponse getProviderRating(Long providerId);
+
+    // Star histograms: five entries, 1 to 5 stars
+    List<RatingDistributionResponse> getListingDistribution(Long serviceListingId);
+
+    List<RatingDistributionResponse> getProviderDistribution(Long providerId);
+
+    // Summed from the per-provider counters
+    List<RatingDistributionResponse> getPlatformDistribution();
+
+    // Mean of every review, from the same per-provider counters
+    double getPlatformAverage();
+
+    // Recomputes all aggregates from the reviews table; returns the rows corrected per aggregate
+    Map<String, Integer> reconcile();
+}
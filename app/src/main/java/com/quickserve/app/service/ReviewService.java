@@ -1,5 +1,9 @@
 package com.quickserve.app.service;
 
+import com.quickserve.app.dto.CursorPage;
+import com.quickserve.app.dto.ProviderRatingResponse;
+import com.quickserve.app.dto.RatingDistributionResponse;
+import com.quickserve.app.dto.ReviewResponse;
 import com.quickserve.app.model.Review;
 
 import java.util.List;
@@ -7,8 +11,12 @@ import java.util.List;
 public interface ReviewService {
     Review submitReviewByEmail(String email, Long bookingId, int stars, String comment);
     List<Review> getUserReviewHistoryByEmail(String email);
-    List<Review> getProviderReviews(Long providerId);
+    List<ReviewResponse> getProviderReviews(Long providerId);
+    CursorPage<ReviewResponse> getProviderReviews(Long providerId, String cursor, int size);
     Double getProviderAverageRating(Long providerId);
+    ProviderRatingResponse getProviderRatingSummary(Long providerId);
+    List<RatingDistributionResponse> getProviderRatingDistribution(Long providerId);
+    List<RatingDistributionResponse> getServiceRatingDistribution(Long serviceListingId);
     List<Review> getServiceReviews(Long serviceListingId);
     Double getServiceAverageRating(Long serviceListingId);
 
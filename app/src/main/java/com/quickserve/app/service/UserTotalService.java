@@ -0,0 +1,20 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.model.Role;
+import com.quickserve.app.model.User;
+
+import java.util.Map;
+
+public interface UserTotalService {
+
+    // Counts a newly registered user; runs in the registration's transaction
+    void recordRegistered(User user);
+
+    // Registered users per role; users without a role only count towards the total
+    Map<Role, Long> countsByRole();
+
+    long totalUsers();
+
+    // Recounts the totals from the users table; returns the rows corrected
+    Map<String, Integer> reconcile();
+}
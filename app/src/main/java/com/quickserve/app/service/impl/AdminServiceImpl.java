@@ -1,79 +1,262 @@
 package com.quickserve.app.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.quickserve.app.config.CacheConfig;
 import com.quickserve.app.dto.*;
 import com.quickserve.app.model.BookingStatus;
 import com.quickserve.app.model.Role;
 import com.quickserve.app.model.ServiceListing;
-import com.quickserve.app.repository.BookingRepository;
+import com.quickserve.app.model.User;
+import com.quickserve.app.repository.BookingRollupRepository;
+import com.quickserve.app.repository.ListingBookingTotalRepository;
 import com.quickserve.app.repository.ServiceListingRepository;
 import com.quickserve.app.repository.UserRepository;
+import com.quickserve.app.repository.projection.AdminUserView;
 import com.quickserve.app.repository.projection.CategoryShareProjection;
 import com.quickserve.app.repository.projection.MonthlyTrendProjection;
-import com.quickserve.app.repository.projection.RatingDistributionProjection;
 import com.quickserve.app.repository.projection.TopServiceProjection;
+import com.quickserve.app.repository.specification.Keyset;
+import com.quickserve.app.security.PrincipalCache;
 import com.quickserve.app.service.AdminService;
+import com.quickserve.app.service.BookingRollupService;
+import com.quickserve.app.service.ListingSuggestService;
+import com.quickserve.app.service.RatingAggregateService;
+import com.quickserve.app.service.UserTotalService;
+import com.quickserve.app.utils.SeekCursor;
+import com.quickserve.app.utils.UnsupportedSortException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.Month;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class AdminServiceImpl implements AdminService {
 
     private final UserRepository userRepository;
-    private final BookingRepository bookingRepository;
     private final ServiceListingRepository serviceListingRepository;
+    private final ListingSuggestService listingSuggestService;
+    private final PrincipalCache principalCache;
+    private final RatingAggregateService ratingAggregateService;
+    private final BookingRollupService bookingRollupService;
+    private final UserTotalService userTotalService;
+    private final BookingRollupRepository bookingRollupRepository;
+    private final ListingBookingTotalRepository listingBookingTotalRepository;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService dashboardExecutor;
+    private final Duration sectionTimeout;
+    private final TransactionTemplate sectionTransaction;
+    private final Cache<Object, Object> dashboardCache;
+    private final AtomicReference<CompletableFuture<AdminDashboardResponse>> dashboardLoad = new AtomicReference<>();
+    private static final String DASHBOARD_KEY = "dashboard";
+    // Directory sort keys exposed to the client, and the indexed User attribute behind each
+    private static final Map<String, String> USER_SORTS = Map.of(
+            "name", "username",
+            "email", "email",
+            "id", "id"
+    );
     private static final List<BookingStatus> ACTIVE_STATUSES =
             List.of(
                     BookingStatus.PENDING,
                     BookingStatus.CONFIRMED
             );
+    // Booked revenue: neither awaiting the provider nor called off
+    private static final List<BookingStatus> REVENUE_STATUSES =
+            List.of(
+                    BookingStatus.CONFIRMED,
+                    BookingStatus.COMPLETED
+            );
 
 
 
 
     public AdminServiceImpl(
             UserRepository userRepository,
-            BookingRepository bookingRepository,
-            ServiceListingRepository serviceListingRepository
+            ServiceListingRepository serviceListingRepository,
+            ListingSuggestService listingSuggestService,
+            PrincipalCache principalCache,
+            RatingAggregateService ratingAggregateService,
+            BookingRollupService bookingRollupService,
+            UserTotalService userTotalService,
+            BookingRollupRepository bookingRollupRepository,
+            ListingBookingTotalRepository listingBookingTotalRepository,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            CacheManager cacheManager,
+            @Value("${admin.dashboard.threads:5}") int dashboardThreads,
+            @Value("${admin.dashboard.section-timeout:PT5S}") Duration sectionTimeout
     ) {
         this.userRepository = userRepository;
-        this.bookingRepository = bookingRepository;
         this.serviceListingRepository = serviceListingRepository;
+        this.listingSuggestService = listingSuggestService;
+        this.principalCache = principalCache;
+        this.ratingAggregateService = ratingAggregateService;
+        this.bookingRollupService = bookingRollupService;
+        this.userTotalService = userTotalService;
+        this.bookingRollupRepository = bookingRollupRepository;
+        this.listingBookingTotalRepository = listingBookingTotalRepository;
+        this.meterRegistry = meterRegistry;
+        this.sectionTimeout = sectionTimeout;
+
+        // Queries of a section are cancelled at the section timeout (whole seconds,
+        // the JDBC granularity), so an abandoned section gives its connection back
+        this.sectionTransaction = new TransactionTemplate(transactionManager);
+        this.sectionTransaction.setReadOnly(true);
+        this.sectionTransaction.setTimeout((int) Math.max(1, (sectionTimeout.toMillis() + 999) / 1000));
+
+        @SuppressWarnings("unchecked")
+        Cache<Object, Object> cache = (Cache<Object, Object>) Objects.requireNonNull(
+                cacheManager.getCache(CacheConfig.ADMIN_DASHBOARD)).getNativeCache();
+        this.dashboardCache = cache;
+
+        // Bounded on both ends: a burst of dashboard loads queues a few sections
+        // and degrades the rest rather than exhausting the connection pool
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                dashboardThreads, dashboardThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dashboardThreads * 4),
+                new CustomizableThreadFactory("admin-dashboard-")
+        );
+        this.dashboardExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "admin.dashboard");
+    }
+
+    @PreDestroy
+    void shutdownDashboardExecutor() {
+        dashboardExecutor.shutdownNow();
     }
 
     /* =========================================================
        EXISTING ADMIN FEATURES (UNCHANGED)
        ========================================================= */
 
+    // Ids by keyset (id DESC), then one query for the rows and their booking counts
+    @Override
+    public CursorPage<Map<String, Object>> getAllUsers(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), Keyset.MAX_PAGE_SIZE);
+        SeekCursor after = SeekCursor.decode(cursor);
+
+        List<Long> ids = userRepository.findIdsBefore(
+                after == null ? Long.MAX_VALUE : after.id(),
+                PageRequest.of(0, pageSize + 1)
+        );
+        CursorPage<Long> page = CursorPage.of(ids, pageSize, id -> new SeekCursor(Instant.EPOCH, id));
+
+        return new CursorPage<>(
+                hydrateUsers(page.items()).stream().map(this::mapUser).toList(),
+                page.nextCursor()
+        );
+    }
+
     @Override
-    public List<Map<String, Object>> getAllUsers() {
-        return userRepository.findAll()
+    public Page<AdminUserView> getUserDirectory(String search, Pageable pageable) {
+        Pageable sorted = directoryPageable(pageable);
+
+        Page<Long> ids = search == null || search.isBlank()
+                ? userRepository.findDirectoryIds(sorted)
+                : userRepository.searchDirectoryIds(likePrefix(search), sorted);
+
+        return new PageImpl<>(hydrateUsers(ids.getContent()), sorted, ids.getTotalElements());
+    }
+
+    // Rows for the given ids, in the same order
+    private List<AdminUserView> hydrateUsers(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, AdminUserView> byId = userRepository.findAdminViewsByIdIn(ids)
                 .stream()
-                .map(user -> {
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("id", user.getId());
-                    map.put("name", user.getUsername());
-                    map.put("email", user.getEmail());
-                    map.put("role", user.getRole());
-                    map.put("bookings", bookingRepository.countBookingsByUserId(user.getId()));
-                    return map;
-                })
+                .collect(Collectors.toMap(AdminUserView::getId, Function.identity()));
+
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .toList();
     }
 
+    // Client sort keys to User attributes, id as tie-breaker, page size capped
+    private static Pageable directoryPageable(Pageable pageable) {
+        Pageable requested = pageable.isPaged() ? pageable : PageRequest.of(0, 20);
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : requested.getSortOr(Sort.by("name"))) {
+            String attribute = USER_SORTS.get(order.getProperty());
+            if (attribute == null) {
+                throw new UnsupportedSortException("Users", USER_SORTS.keySet());
+            }
+            orders.add(order.withProperty(attribute));
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals("id"))) {
+            orders.add(Sort.Order.asc("id"));
+        }
+
+        return PageRequest.of(
+                requested.getPageNumber(),
+                Math.min(requested.getPageSize(), Keyset.MAX_PAGE_SIZE),
+                Sort.by(orders)
+        );
+    }
+
+    // Lower-case prefix pattern for UserRepository.searchDirectoryIds (escape character !)
+    private static String likePrefix(String search) {
+        return search.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+    }
+
+    private Map<String, Object> mapUser(AdminUserView user) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", user.getId());
+        map.put("name", user.getName());
+        map.put("email", user.getEmail());
+        map.put("role", user.getRole());
+        map.put("bookings", user.getBookings());
+        return map;
+    }
+
     @Override
     public Map<String, Object> getUserStats() {
+        Map<Role, Long> byRole = userTotalService.countsByRole();
         return Map.of(
-                "totalUsers", userRepository.count(),
-                "serviceProviders", userRepository.countByRole(Role.PROVIDER),
-                "customers", userRepository.countByRole(Role.CUSTOMER)
+                "totalUsers", userTotalService.totalUsers(),
+                "serviceProviders", byRole.get(Role.PROVIDER),
+                "customers", byRole.get(Role.CUSTOMER)
         );
     }
 
+    @Override
+    public void revokeSessions(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        principalCache.revoke(user.getEmail());
+    }
+
     @Override
     public List<Map<String, Object>> getPendingListings() {
         return serviceListingRepository.findByApprovedFalse()
@@ -94,19 +277,29 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public void approveListing(Long listingId) {
         ServiceListing listing = serviceListingRepository.findById(listingId)
                 .orElseThrow(() -> new RuntimeException("Listing not found"));
         listing.setApproved(true);
         serviceListingRepository.save(listing);
+        listingSuggestService.refresh(listing);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public void rejectListing(Long listingId) {
         ServiceListing listing = serviceListingRepository.findById(listingId)
                 .orElseThrow(() -> new RuntimeException("Listing not found"));
         listing.setActive(false);
         serviceListingRepository.save(listing);
+        listingSuggestService.refresh(listing);
     }
 
     @Override
@@ -124,26 +317,46 @@ public class AdminServiceImpl implements AdminService {
         );
     }
 
+    @Override
+    @CacheEvict(cacheNames = {CacheConfig.LISTING_BY_ID, CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS},
+            allEntries = true)
+    public Map<String, Integer> reconcileRatings() {
+        return ratingAggregateService.reconcile();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ADMIN_DASHBOARD, allEntries = true)
+    public Map<String, Integer> reconcileRollups() {
+        return bookingRollupService.reconcile();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.ADMIN_DASHBOARD, allEntries = true)
+    public Map<String, Integer> reconcileUserTotals() {
+        return userTotalService.reconcile();
+    }
+
     /* =========================================================
        DASHBOARD ANALYTICS (DTO-BASED, FIXED)
+       Booking figures come from the rollups (see BookingRollupServiceImpl),
+       user counts and ratings from the maintained totals
        ========================================================= */
 
     @Override
     public AdminDashboardStatsResponse getDashboardStats() {
 
-        BigDecimal avgRatingRaw = BigDecimal.valueOf(serviceListingRepository.getAverageRating());
-        double avgRating = avgRatingRaw == null
-                ? 0.0
-                : avgRatingRaw.setScale(1, RoundingMode.HALF_UP).doubleValue();
+        double avgRating = BigDecimal.valueOf(ratingAggregateService.getPlatformAverage())
+                .setScale(1, RoundingMode.HALF_UP)
+                .doubleValue();
         long activeBookings =
-                bookingRepository.countActiveBookings(ACTIVE_STATUSES);
+                bookingRollupRepository.sumBookingsByStatusIn(ACTIVE_STATUSES);
 
 
         return new AdminDashboardStatsResponse(
-                userRepository.count(),
-                bookingRepository.count(),
+                userTotalService.totalUsers(),
+                bookingRollupRepository.sumBookings(),
                 activeBookings,
-                serviceListingRepository.getTotalRevenue(),
+                bookingRollupRepository.sumRevenueByStatusIn(REVENUE_STATUSES),
                 avgRating
         );
     }
@@ -151,7 +364,7 @@ public class AdminServiceImpl implements AdminService {
     @Override
     public List<RevenueTrendResponse> getRevenueTrend() {
 
-        List<MonthlyTrendProjection> raw = bookingRepository.getMonthlyTrend();
+        List<MonthlyTrendProjection> raw = bookingRollupRepository.getMonthlyTrend();
 
         Map<Integer, MonthlyTrendProjection> map = new HashMap<>();
         for (MonthlyTrendProjection p : raw) {
@@ -176,26 +389,10 @@ public class AdminServiceImpl implements AdminService {
 
 
 
+    // Real star counts of all reviews, summed from the per-provider histograms
     @Override
     public List<RatingDistributionResponse> getRatingDistribution() {
-
-        List<RatingDistributionProjection> raw =
-                serviceListingRepository.getRatingDistribution();
-
-        Map<Integer, Long> map = new HashMap<>();
-        for (RatingDistributionProjection p : raw) {
-            map.put(p.getRating().intValue(), p.getCount());
-        }
-
-        List<RatingDistributionResponse> result = new ArrayList<>();
-        for (int stars = 1; stars <= 5; stars++) {
-            result.add(new RatingDistributionResponse(
-                    stars,
-                    map.getOrDefault(stars, 0L)
-            ));
-        }
-
-        return result;
+        return ratingAggregateService.getPlatformDistribution();
     }
 
 
@@ -203,7 +400,7 @@ public class AdminServiceImpl implements AdminService {
     public List<ServiceCategoryShareResponse> getCategoryShare() {
 
         List<CategoryShareProjection> raw =
-                serviceListingRepository.getCategoryShare();
+                bookingRollupRepository.getCategoryShare();
 
         long total = raw.stream()
                 .mapToLong(CategoryShareProjection::getCount)
@@ -228,9 +425,7 @@ public class AdminServiceImpl implements AdminService {
     public List<TopServiceResponse> getTopServices() {
 
         List<TopServiceProjection> raw =
-                serviceListingRepository
-                        .getTopServices(PageRequest.of(0, 7))
-                        .getContent();
+                listingBookingTotalRepository.findTop(PageRequest.of(0, 7));
 
         return raw.stream()
                 .map(p -> new TopServiceResponse(
@@ -247,14 +442,96 @@ public class AdminServiceImpl implements AdminService {
        AGGREGATED DASHBOARD ENDPOINT SUPPORT
        ========================================================= */
 
+    // Concurrent misses share one load: the first caller loads, the others wait for
+    // its result. Only a complete dashboard is cached; after a degraded one the next
+    // load retries the missing sections.
     @Override
     public AdminDashboardResponse getDashboard() {
+        AdminDashboardResponse cached = (AdminDashboardResponse) dashboardCache.getIfPresent(DASHBOARD_KEY);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<AdminDashboardResponse> load = new CompletableFuture<>();
+        CompletableFuture<AdminDashboardResponse> running = dashboardLoad.compareAndExchange(null, load);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            // Cached by a load that finished between the check above and ours
+            AdminDashboardResponse dashboard = (AdminDashboardResponse) dashboardCache.getIfPresent(DASHBOARD_KEY);
+            if (dashboard == null) {
+                dashboard = loadDashboard();
+                if (dashboard.degradedSections().isEmpty()) {
+                    dashboardCache.put(DASHBOARD_KEY, dashboard);
+                }
+            }
+            load.complete(dashboard);
+            return dashboard;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            dashboardLoad.set(null);
+        }
+    }
+
+    // Each section runs on the dashboard pool with its own connection, so the load
+    // takes as long as the slowest section rather than the sum of all five
+    private AdminDashboardResponse loadDashboard() {
+        List<String> degraded = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<AdminDashboardStatsResponse> stats =
+                section("stats", this::getDashboardStats, null, degraded);
+        CompletableFuture<List<RevenueTrendResponse>> revenueTrend =
+                section("revenueTrend", this::getRevenueTrend, List.of(), degraded);
+        CompletableFuture<List<RatingDistributionResponse>> ratingDistribution =
+                section("ratingDistribution", this::getRatingDistribution, List.of(), degraded);
+        CompletableFuture<List<ServiceCategoryShareResponse>> categoryShare =
+                section("categoryShare", this::getCategoryShare, List.of(), degraded);
+        CompletableFuture<List<TopServiceResponse>> topServices =
+                section("topServices", this::getTopServices, List.of(), degraded);
+
+        CompletableFuture.allOf(stats, revenueTrend, ratingDistribution, categoryShare, topServices).join();
+
         return new AdminDashboardResponse(
-                getDashboardStats(),
-                getRevenueTrend(),
-                getRatingDistribution(),
-                getCategoryShare(),
-                getTopServices()
+                stats.join(),
+                revenueTrend.join(),
+                ratingDistribution.join(),
+                categoryShare.join(),
+                topServices.join(),
+                OffsetDateTime.now(),
+                List.copyOf(degraded)
         );
     }
+
+    // Never completes exceptionally: a failed, timed-out or rejected section yields
+    // the fallback and is recorded in degraded. A timed-out section no longer holds
+    // up the dashboard, and the transaction timeout cancels its running query.
+    private <T> CompletableFuture<T> section(String name, Supplier<T> loader, T fallback, List<String> degraded) {
+        Timer timer = Timer.builder("admin.dashboard.section")
+                .tag("section", name)
+                .register(meterRegistry);
+
+        CompletableFuture<T> future;
+        try {
+            Supplier<T> inTransaction = () -> sectionTransaction.execute(status -> loader.get());
+            future = CompletableFuture.supplyAsync(timer.wrap(inTransaction), dashboardExecutor)
+                    .orTimeout(sectionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future.exceptionally(e -> {
+            degraded.add(name);
+            Counter.builder("admin.dashboard.degraded")
+                    .tag("section", name)
+                    .tag("cause", e instanceof CompletionException && e.getCause() != null
+                            ? e.getCause().getClass().getSimpleName()
+                            : e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            return fallback;
+        });
+    }
 }
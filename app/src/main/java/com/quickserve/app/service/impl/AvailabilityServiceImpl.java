@@ -0,0 +1,402 @@
+package com.quickserve.app.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quickserve.app.dto.AvailabilityImportResponse;
+import com.quickserve.app.dto.TimeWindow;
+import com.quickserve.app.model.AvailabilityRule;
+import com.quickserve.app.model.Booking;
+import com.quickserve.app.model.BookingStatus;
+import com.quickserve.app.model.CalendarAvailability;
+import com.quickserve.app.repository.AvailabilityRuleRepository;
+import com.quickserve.app.repository.BookingRepository;
+import com.quickserve.app.repository.CalendarAvailabilityRepository;
+import com.quickserve.app.service.AvailabilityService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Provider calendars held in memory as two sorted interval maps: merged
+ * availability, and merged live (non-cancelled) bookings. Both answers are a
+ * couple of {@link TreeMap} floor/ceiling lookups. Recurring
+ * {@link AvailabilityRule}s are kept as rules and expanded only over the
+ * window being asked about.
+ * <p>
+ * A calendar is loaded from the database on first use and dropped after any
+ * availability or booking change commits, so the next read reloads it. It only
+ * holds the span from a day ago to {@code availability.cache.horizon} ahead;
+ * questions about other times read just the rows they need, uncached. Other
+ * instances only see a change once their copy expires
+ * ({@code availability.cache.ttl}); the {@code bookings_no_overlap} constraint
+ * keeps double bookings out regardless.
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private static final Duration MAX_WINDOW_RANGE = Duration.ofDays(92);
+    private static final int MAX_IMPORT_SLOTS = 20_000;
+    private static final Duration LOOKBACK = Duration.ofDays(1);
+
+    private final CalendarAvailabilityRepository calendarRepository;
+    private final BookingRepository bookingRepository;
+    private final AvailabilityRuleRepository ruleRepository;
+    private final Cache<Long, ProviderCalendar> calendars;
+    private final Duration horizon;
+
+    public AvailabilityServiceImpl(
+            CalendarAvailabilityRepository calendarRepository,
+            BookingRepository bookingRepository,
+            AvailabilityRuleRepository ruleRepository,
+            @Value("${availability.cache.max-providers:10000}") long maxProviders,
+            @Value("${availability.cache.ttl:PT10M}") Duration ttl,
+            @Value("${availability.cache.horizon:P120D}") Duration horizon,
+            MeterRegistry meterRegistry
+    ) {
+        this.calendarRepository = calendarRepository;
+        this.bookingRepository = bookingRepository;
+        this.ruleRepository = ruleRepository;
+        this.horizon = horizon;
+        this.calendars = Caffeine.newBuilder()
+                .maximumSize(maxProviders)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, "availability.calendars");
+    }
+
+    @Override
+    @Transactional
+    public CalendarAvailability addAvailability(Long providerId, CalendarAvailability slot) {
+        if (!slot.getEndTime().isAfter(slot.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        slot.setProviderId(providerId);
+        CalendarAvailability saved = calendarRepository.save(slot);
+        invalidate(providerId);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public AvailabilityImportResponse importAvailability(Long providerId, List<TimeWindow> slots) {
+        if (slots.isEmpty()) {
+            return new AvailabilityImportResponse(0, 0);
+        }
+        if (slots.size() > MAX_IMPORT_SLOTS) {
+            throw new IllegalArgumentException("At most " + MAX_IMPORT_SLOTS + " slots per import");
+        }
+
+        TreeMap<Instant, Instant> merged = new TreeMap<>();
+        for (int i = 0; i < slots.size(); i++) {
+            TimeWindow slot = slots.get(i);
+            if (slot.start() == null || slot.end() == null || !slot.end().isAfter(slot.start())) {
+                throw new IllegalArgumentException("Slot " + (i + 1) + ": end time must be after start time");
+            }
+            merge(merged, slot.start().toInstant(), slot.end().toInstant());
+        }
+
+        // Fold in stored slots that overlap or touch the imported span; they are replaced
+        OffsetDateTime spanStart = merged.firstKey().atOffset(ZoneOffset.UTC);
+        OffsetDateTime spanEnd = merged.lastEntry().getValue().atOffset(ZoneOffset.UTC);
+        List<CalendarAvailability> existing =
+                calendarRepository.findTouchingAvailability(providerId, spanStart, spanEnd);
+        for (CalendarAvailability slot : existing) {
+            merge(merged, slot.getStartTime().toInstant(), slot.getEndTime().toInstant());
+        }
+        calendarRepository.deleteAllInBatch(existing);
+
+        List<CalendarAvailability> rows = new ArrayList<>(merged.size());
+        merged.forEach((start, end) -> {
+            CalendarAvailability row = new CalendarAvailability();
+            row.setProviderId(providerId);
+            row.setStartTime(start.atOffset(ZoneOffset.UTC));
+            row.setEndTime(end.atOffset(ZoneOffset.UTC));
+            rows.add(row);
+        });
+        // Inserted in JDBC batches of hibernate.jdbc.batch_size
+        calendarRepository.saveAll(rows);
+
+        invalidate(providerId);
+        return new AvailabilityImportResponse(slots.size(), rows.size());
+    }
+
+    @Override
+    @Transactional
+    public AvailabilityRule addRule(Long providerId, AvailabilityRule rule) {
+        if (!rule.getEndTime().isAfter(rule.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (rule.getValidFrom() != null && rule.getValidUntil() != null
+                && rule.getValidUntil().isBefore(rule.getValidFrom())) {
+            throw new IllegalArgumentException("validUntil must not be before validFrom");
+        }
+        try {
+            rule.setZone(ZoneId.of(rule.getZone() == null ? "UTC" : rule.getZone()).getId());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + rule.getZone());
+        }
+
+        rule.setId(null);
+        rule.setProviderId(providerId);
+        AvailabilityRule saved = ruleRepository.save(rule);
+        invalidate(providerId);
+        return saved;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailabilityRule> getRules(Long providerId) {
+        return ruleRepository.findByProviderId(providerId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteRule(Long providerId, Long ruleId) {
+        AvailabilityRule rule = ruleRepository.findByIdAndProviderId(ruleId, providerId)
+                .orElseThrow(() -> new IllegalArgumentException("Rule not found"));
+        ruleRepository.delete(rule);
+        invalidate(providerId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SlotStatus check(Long providerId, OffsetDateTime start, OffsetDateTime end) {
+        return calendar(providerId, start.toInstant(), end.toInstant()).check(start.toInstant(), end.toInstant());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CalendarAvailability> getAvailability(Long providerId, OffsetDateTime from, OffsetDateTime to) {
+        OffsetDateTime start = from != null ? from : OffsetDateTime.now(ZoneOffset.UTC);
+        OffsetDateTime limit = start.plus(horizon);
+        OffsetDateTime end = to == null || to.isAfter(limit) ? limit : to;
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        return calendarRepository.findOverlappingAvailability(providerId, start, end);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimeWindow> freeWindows(Long providerId, OffsetDateTime from, OffsetDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_WINDOW_RANGE) > 0) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_WINDOW_RANGE.toDays() + " days");
+        }
+        return calendar(providerId, from.toInstant(), to.toInstant()).freeWindows(from.toInstant(), to.toInstant());
+    }
+
+    @Override
+    public void invalidate(Long providerId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            calendars.invalidate(providerId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                calendars.invalidate(providerId);
+            }
+        });
+    }
+
+    // The cached calendar when it spans [from, to); otherwise one read of just that range
+    private ProviderCalendar calendar(Long providerId, Instant from, Instant to) {
+        ProviderCalendar calendar = calendars.get(providerId, this::load);
+        return calendar.covers(from, to) ? calendar : load(providerId, from, to);
+    }
+
+    // Cache miss: rebuild the cached span from the database
+    private ProviderCalendar load(Long providerId) {
+        Instant now = Instant.now();
+        return load(providerId, now.minus(LOOKBACK), now.plus(horizon));
+    }
+
+    // Slots and live bookings overlapping [from, to), plus every rule
+    private ProviderCalendar load(Long providerId, Instant from, Instant to) {
+        OffsetDateTime start = from.atOffset(ZoneOffset.UTC);
+        OffsetDateTime end = to.atOffset(ZoneOffset.UTC);
+
+        TreeMap<Instant, Instant> available = new TreeMap<>();
+        for (CalendarAvailability slot : calendarRepository.findOverlappingAvailability(providerId, start, end)) {
+            merge(available, slot.getStartTime().toInstant(), slot.getEndTime().toInstant());
+        }
+
+        List<Rule> rules = ruleRepository.findByProviderId(providerId)
+                .stream()
+                .map(Rule::of)
+                .toList();
+
+        TreeMap<Instant, Instant> booked = new TreeMap<>();
+        for (Booking booking : bookingRepository.findOverlappingBookings(providerId, start, end, BookingStatus.CANCELLED)) {
+            merge(booked, booking.getStartTime().toInstant(), booking.getEndTime().toInstant());
+        }
+
+        return new ProviderCalendar(from, to, available, rules, booked);
+    }
+
+    // Inserts [start, end), coalescing with every interval it overlaps or touches
+    static void merge(NavigableMap<Instant, Instant> intervals, Instant start, Instant end) {
+        if (!end.isAfter(start)) {
+            return;
+        }
+
+        Map.Entry<Instant, Instant> before = intervals.floorEntry(start);
+        if (before != null && !before.getValue().isBefore(start)) {
+            start = before.getKey();
+            if (before.getValue().isAfter(end)) {
+                end = before.getValue();
+            }
+        }
+
+        Map.Entry<Instant, Instant> next = intervals.ceilingEntry(start);
+        while (next != null && !next.getKey().isAfter(end)) {
+            if (next.getValue().isAfter(end)) {
+                end = next.getValue();
+            }
+            intervals.remove(next.getKey());
+            next = intervals.ceilingEntry(start);
+        }
+
+        intervals.put(start, end);
+    }
+
+    // Snapshot of an AvailabilityRule, detached from the persistence context
+    private record Rule(DayOfWeek day, LocalTime start, LocalTime end, ZoneId zone,
+                        LocalDate validFrom, LocalDate validUntil, Set<LocalDate> excluded) {
+
+        static Rule of(AvailabilityRule rule) {
+            return new Rule(
+                    rule.getDayOfWeek(),
+                    rule.getStartTime(),
+                    rule.getEndTime(),
+                    ZoneId.of(rule.getZone()),
+                    rule.getValidFrom(),
+                    rule.getValidUntil(),
+                    Set.copyOf(rule.getExcludedDates())
+            );
+        }
+
+        // Emits every occurrence on a local date touched by [from, to)
+        void expand(Instant from, Instant to, NavigableMap<Instant, Instant> into) {
+            LocalDate last = to.atZone(zone).toLocalDate();
+            LocalDate date = from.atZone(zone).toLocalDate().with(TemporalAdjusters.nextOrSame(day));
+
+            for (; !date.isAfter(last); date = date.plusWeeks(1)) {
+                if ((validFrom != null && date.isBefore(validFrom))
+                        || (validUntil != null && date.isAfter(validUntil))
+                        || excluded.contains(date)) {
+                    continue;
+                }
+                merge(into,
+                        ZonedDateTime.of(date, start, zone).toInstant(),
+                        ZonedDateTime.of(date, end, zone).toInstant());
+            }
+        }
+    }
+
+    // Immutable once built; both maps hold disjoint, non-adjacent intervals start -> end,
+    // complete for [spanStart, spanEnd)
+    private record ProviderCalendar(Instant spanStart,
+                                    Instant spanEnd,
+                                    NavigableMap<Instant, Instant> available,
+                                    List<Rule> rules,
+                                    NavigableMap<Instant, Instant> booked) {
+
+        boolean covers(Instant start, Instant end) {
+            return !start.isBefore(spanStart) && !end.isAfter(spanEnd);
+        }
+
+        // Slots and rule occurrences near [from, to), merged; a handful of entries
+        NavigableMap<Instant, Instant> availableIn(Instant from, Instant to) {
+            NavigableMap<Instant, Instant> window = new TreeMap<>();
+
+            Instant firstKey = available.floorKey(from);
+            available.subMap(firstKey != null ? firstKey : from, true, to, false)
+                    .forEach((start, end) -> merge(window, start, end));
+
+            for (Rule rule : rules) {
+                rule.expand(from, to, window);
+            }
+            return window;
+        }
+
+        SlotStatus check(Instant start, Instant end) {
+            Map.Entry<Instant, Instant> block = availableIn(start, end).floorEntry(start);
+            if (block == null || block.getValue().isBefore(end)) {
+                return SlotStatus.UNAVAILABLE;
+            }
+            // Only the last booking starting before 'end' can reach past 'start'
+            Map.Entry<Instant, Instant> booking = booked.lowerEntry(end);
+            if (booking != null && booking.getValue().isAfter(start)) {
+                return SlotStatus.BOOKED;
+            }
+            return SlotStatus.FREE;
+        }
+
+        List<TimeWindow> freeWindows(Instant from, Instant to) {
+            List<TimeWindow> windows = new ArrayList<>();
+
+            for (Map.Entry<Instant, Instant> block : availableIn(from, to).entrySet()) {
+                Instant cursor = max(block.getKey(), from);
+                Instant blockEnd = min(block.getValue(), to);
+                if (!blockEnd.isAfter(cursor)) {
+                    continue;
+                }
+
+                Instant firstBooking = booked.lowerKey(cursor);
+                NavigableMap<Instant, Instant> bookings = booked.subMap(
+                        firstBooking != null ? firstBooking : cursor, true, blockEnd, false);
+
+                for (Map.Entry<Instant, Instant> booking : bookings.entrySet()) {
+                    if (booking.getKey().isAfter(cursor)) {
+                        windows.add(window(cursor, booking.getKey()));
+                    }
+                    cursor = max(cursor, booking.getValue());
+                }
+                if (cursor.isBefore(blockEnd)) {
+                    windows.add(window(cursor, blockEnd));
+                }
+            }
+            return windows;
+        }
+
+        private static TimeWindow window(Instant start, Instant end) {
+            return new TimeWindow(start.atOffset(ZoneOffset.UTC), end.atOffset(ZoneOffset.UTC));
+        }
+
+        private static Instant max(Instant a, Instant b) {
+            return a.isAfter(b) ? a : b;
+        }
+
+        private static Instant min(Instant a, Instant b) {
+            return a.isBefore(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.quickserve.app.service.impl;
+
+import com.quickserve.app.service.BookingAdmissionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-JVM booking admission: providers are hashed onto a fixed set of lock
+ * stripes, so the overlap check and insert for one provider run one at a time
+ * while other providers proceed in parallel.
+ * <p>
+ * This only serializes bookings within a single instance; the
+ * {@code bookings_no_overlap} constraint still guards multi-instance deployments.
+ * With {@code booking.admission.stripes=1} it degrades to a global lock, which
+ * is handy as a baseline when load testing.
+ */
+@Service
+public class BookingAdmissionServiceImpl implements BookingAdmissionService {
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final ReentrantLock[] stripes;
+    private final Timer[] waitTimers;
+
+    public BookingAdmissionServiceImpl(
+            @Value("${booking.admission.enabled:true}") boolean enabled,
+            @Value("${booking.admission.stripes:64}") int stripeCount,
+            @Value("${booking.admission.timeout:PT5S}") Duration timeout,
+            MeterRegistry meterRegistry
+    ) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("booking.admission.stripes must be at least 1");
+        }
+        this.enabled = enabled;
+        this.timeoutNanos = timeout.toNanos();
+        this.stripes = new ReentrantLock[stripeCount];
+        this.waitTimers = new Timer[stripeCount];
+
+        for (int i = 0; i < stripeCount; i++) {
+            ReentrantLock lock = new ReentrantLock(true);
+            String stripe = Integer.toString(i);
+            stripes[i] = lock;
+            waitTimers[i] = Timer.builder("booking.admission.wait")
+                    .description("Time spent waiting for the provider's booking stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+            Gauge.builder("booking.admission.queue", lock, ReentrantLock::getQueueLength)
+                    .description("Booking requests waiting on the stripe")
+                    .tag("stripe", stripe)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public <T> T admit(Long providerId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+
+        int stripe = Math.floorMod(providerId.hashCode(), stripes.length);
+        ReentrantLock lock = stripes[stripe];
+
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Booking request interrupted");
+        } finally {
+            waitTimers[stripe].record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            throw new IllegalStateException("Provider is busy, please try again");
+        }
+
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
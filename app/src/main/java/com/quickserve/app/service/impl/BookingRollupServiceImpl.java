@@ -0,0 +1,87 @@
+package com.quickserve.app.service.impl;
+
+import com.quickserve.app.model.Booking;
+import com.quickserve.app.model.BookingStatus;
+import com.quickserve.app.repository.BookingRollupRepository;
+import com.quickserve.app.repository.ListingBookingTotalRepository;
+import com.quickserve.app.service.BookingRollupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Booking counts and revenue for the admin dashboard, kept as daily per-category
+ * rows and per-listing totals and updated in place whenever a booking is created
+ * or changes status, instead of aggregating {@code bookings} on every read.
+ * Revenue is counted at each booking's own price, so listing price changes never
+ * move it.
+ * <p>
+ * Writes that bypass this service (manual SQL, a listing changing category) leave
+ * the rollups behind; {@link #reconcile} recomputes them nightly
+ * ({@code booking.rollup.reconcile.cron}) and on demand from the admin API.
+ */
+@Service
+public class BookingRollupServiceImpl implements BookingRollupService {
+
+    private final BookingRollupRepository bookingRollupRepository;
+    private final ListingBookingTotalRepository listingBookingTotalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter dailyRowsCorrected;
+    private final Counter listingRowsCorrected;
+
+    public BookingRollupServiceImpl(
+            BookingRollupRepository bookingRollupRepository,
+            ListingBookingTotalRepository listingBookingTotalRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.bookingRollupRepository = bookingRollupRepository;
+        this.listingBookingTotalRepository = listingBookingTotalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyRowsCorrected = Counter.builder("booking.rollup.reconcile.corrected")
+                .tag("rollup", "daily")
+                .register(meterRegistry);
+        this.listingRowsCorrected = Counter.builder("booking.rollup.reconcile.corrected")
+                .tag("rollup", "listing")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Booking booking) {
+        bookingRollupRepository.add(booking.getId(), booking.getStatus().name(), 1);
+        listingBookingTotalRepository.addBooking(booking.getId());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Booking booking, BookingStatus previous) {
+        if (previous == booking.getStatus()) {
+            return;
+        }
+        bookingRollupRepository.add(booking.getId(), previous.name(), -1);
+        bookingRollupRepository.add(booking.getId(), booking.getStatus().name(), 1);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${booking.rollup.reconcile.cron:0 45 3 * * *}")
+    public Map<String, Integer> reconcile() {
+        // Holds off new bookings and status changes until the recount commits,
+        // otherwise one committing mid-recount could be overwritten by the stale total
+        jdbcTemplate.execute("LOCK TABLE bookings IN SHARE MODE");
+
+        int daily = bookingRollupRepository.reconcile();
+        int listings = listingBookingTotalRepository.reconcile();
+
+        dailyRowsCorrected.increment(daily);
+        listingRowsCorrected.increment(listings);
+        return Map.of("dailyRowsCorrected", daily, "listingRowsCorrected", listings);
+    }
+}
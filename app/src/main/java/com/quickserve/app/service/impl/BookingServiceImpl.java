@@ -1,17 +1,24 @@
 package com.quickserve.app.service.impl;
 
 import com.quickserve.app.dto.BookingDetailResponse;
+import com.quickserve.app.dto.CursorPage;
 import com.quickserve.app.dto.BookingListItemResponse;
 import com.quickserve.app.dto.BookingRequest;
 import com.quickserve.app.dto.ProviderBookingResponse;
 import com.quickserve.app.model.*;
 import com.quickserve.app.repository.*;
+import com.quickserve.app.repository.specification.Keyset;
+import com.quickserve.app.service.AvailabilityService;
+import com.quickserve.app.service.BookingAdmissionService;
+import com.quickserve.app.service.BookingRollupService;
 import com.quickserve.app.service.BookingService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.List;
 
@@ -20,9 +27,18 @@ public class BookingServiceImpl implements BookingService {
 
     private final BookingRepository bookingRepository;
     private final ServiceListingRepository serviceListingRepository;
-    private final CalendarAvailabilityRepository calendarAvailabilityRepository;
+    private final AvailabilityService availabilityService;
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
+    private final BookingAdmissionService bookingAdmissionService;
+    private final BookingRollupService bookingRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Exclusion constraint, see db/migration/V2
+    private static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
+    private static final Keyset<Booking> BOOKING_KEYSET =
+            Keyset.byOffsetDateTime("createdAt", Booking::getCreatedAt, Booking::getId);
 
 
 
@@ -31,26 +47,43 @@ public class BookingServiceImpl implements BookingService {
     public BookingServiceImpl(
             BookingRepository bookingRepository,
             ServiceListingRepository serviceListingRepository,
-            CalendarAvailabilityRepository calendarAvailabilityRepository,
+            AvailabilityService availabilityService,
             UserRepository userRepository,
-            ReviewRepository reviewRepository
+            ReviewRepository reviewRepository,
+            BookingAdmissionService bookingAdmissionService,
+            BookingRollupService bookingRollupService,
+            PlatformTransactionManager transactionManager
     ) {
         this.bookingRepository = bookingRepository;
         this.serviceListingRepository = serviceListingRepository;
-        this.calendarAvailabilityRepository = calendarAvailabilityRepository;
+        this.availabilityService = availabilityService;
         this.userRepository = userRepository;
         this.reviewRepository = reviewRepository;
+        this.bookingAdmissionService = bookingAdmissionService;
+        this.bookingRollupService = bookingRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     // ✅ CREATE BOOKING (USER)
+    // Not @Transactional: the admission lock must be held until the insert has committed
     @Override
-    @Transactional
     public Booking createBookingByEmail(String email, BookingRequest request) {
 
         if (request.getEndTime().isBefore(request.getStartTime())) {
             throw new IllegalArgumentException("End time must be after start time");
         }
 
+        Long providerId = serviceListingRepository
+                .findProviderIdById(request.getServiceListingId())
+                .orElseThrow(() -> new IllegalArgumentException("Service listing not found"));
+
+        return bookingAdmissionService.admit(providerId, () ->
+                transactionTemplate.execute(status -> createBooking(email, request))
+        );
+    }
+
+    private Booking createBooking(String email, BookingRequest request) {
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
@@ -60,33 +93,18 @@ public class BookingServiceImpl implements BookingService {
 
         Long providerId = listing.getProvider().getId();
 
-        // ✅ Check availability
-        List<CalendarAvailability> availabilitySlots =
-                calendarAvailabilityRepository.findOverlappingAvailability(
-                        providerId,
-                        request.getStartTime(),
-                        request.getEndTime()
-                );
-
-        boolean covered = availabilitySlots.stream().anyMatch(slot ->
-                !slot.getStartTime().isAfter(request.getStartTime()) &&
-                        !slot.getEndTime().isBefore(request.getEndTime())
+        // ✅ Check availability and booking overlap against the provider's calendar
+        AvailabilityService.SlotStatus slot = availabilityService.check(
+                providerId,
+                request.getStartTime(),
+                request.getEndTime()
         );
 
-        if (!covered) {
+        if (slot == AvailabilityService.SlotStatus.UNAVAILABLE) {
             throw new IllegalStateException("Provider is not available for the selected time");
         }
 
-        // ✅ Check booking overlap
-        List<Booking> overlappingBookings =
-                bookingRepository.findOverlappingBookings(
-                        providerId,
-                        request.getStartTime(),
-                        request.getEndTime(),
-                        BookingStatus.CANCELLED
-                );
-
-        if (!overlappingBookings.isEmpty()) {
+        if (slot == AvailabilityService.SlotStatus.BOOKED) {
             throw new IllegalStateException("Selected time slot is already booked");
         }
 
@@ -97,8 +115,27 @@ public class BookingServiceImpl implements BookingService {
         booking.setStartTime(request.getStartTime());
         booking.setEndTime(request.getEndTime());
         booking.setStatus(BookingStatus.PENDING);
+        booking.setPrice(listing.getPrice());
+
+        availabilityService.invalidate(providerId);
+
+        // Flush now so a lost race surfaces here, not at commit
+        Booking saved;
+        try {
+            saved = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new IllegalStateException("Selected time slot is already booked");
+            }
+            throw e;
+        }
+        bookingRollupService.recordCreated(saved);
+        return saved;
+    }
 
-        return bookingRepository.save(booking);
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(OVERLAP_CONSTRAINT);
     }
 
     // ✅ CANCEL BOOKING (USER ONLY)
@@ -112,8 +149,9 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findByIdAndUserId(bookingId, user.getId())
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
+        BookingStatus previous = booking.getStatus();
         booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        changeStatus(booking, previous);
     }
 
     @Override
@@ -134,11 +172,9 @@ public class BookingServiceImpl implements BookingService {
         ServiceListing listing = booking.getServiceListing();
 
         String title = "[Deleted service]";
-        BigDecimal price = BigDecimal.ZERO;
 
         if (listing != null) {
             title = listing.getTitle();
-            price = listing.getPrice();
         }
 
         return new BookingListItemResponse(
@@ -147,7 +183,7 @@ public class BookingServiceImpl implements BookingService {
                 booking.getStatus(),
                 booking.getStartTime(),
                 booking.getEndTime(),
-                price
+                booking.getPrice()
         );
     }
 
@@ -163,32 +199,68 @@ public class BookingServiceImpl implements BookingService {
 
         return bookingRepository.findByProviderId(provider.getId())
                 .stream()
-                .map(booking -> {
-
-                    ServiceListing listing = booking.getServiceListing();
-
-                    String title = "[Deleted service]";
-                    Category category = null;
-
-                    if (listing != null) {
-                        title = listing.getTitle();
-                        category = listing.getCategory(); // enum → SAFE
-                    }
-
-                    return new ProviderBookingResponse(
-                            booking.getId(),
-                            booking.getUserId(),
-                            booking.getServiceListingId(),
-                            title,
-                            category,
-                            booking.getStartTime(),   // OffsetDateTime
-                            booking.getEndTime(),     // OffsetDateTime
-                            booking.getStatus()
-                    );
-                })
+                .map(this::mapToProviderBooking)
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingListItemResponse> getBookingsForUserByEmail(String email, String cursor, int size) {
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        return BOOKING_KEYSET.fetch(
+                bookingRepository,
+                (root, query, cb) -> cb.equal(root.get("userId"), user.getId()),
+                cursor,
+                size,
+                this::mapToBookingListItem,
+                "serviceListing"
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProviderBookingResponse> getBookingsForProviderByEmail(String email, String cursor, int size) {
+
+        User provider = userRepository.findByEmail(email)
+                .orElseThrow(() -> new IllegalArgumentException("Provider not found"));
+
+        return BOOKING_KEYSET.fetch(
+                bookingRepository,
+                (root, query, cb) -> cb.equal(root.get("providerId"), provider.getId()),
+                cursor,
+                size,
+                this::mapToProviderBooking,
+                "serviceListing"
+        );
+    }
+
+    private ProviderBookingResponse mapToProviderBooking(Booking booking) {
+
+        ServiceListing listing = booking.getServiceListing();
+
+        String title = "[Deleted service]";
+        Category category = null;
+
+        if (listing != null) {
+            title = listing.getTitle();
+            category = listing.getCategory(); // enum → SAFE
+        }
+
+        return new ProviderBookingResponse(
+                booking.getId(),
+                booking.getUserId(),
+                booking.getServiceListingId(),
+                title,
+                category,
+                booking.getStartTime(),   // OffsetDateTime
+                booking.getEndTime(),     // OffsetDateTime
+                booking.getStatus()
+        );
+    }
+
 
 
     // ✅ PROVIDER ACCEPT BOOKING
@@ -212,7 +284,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(BookingStatus.CONFIRMED);
-        return bookingRepository.save(booking);
+        return changeStatus(booking, BookingStatus.PENDING);
     }
 
     // ✅ PROVIDER REJECT BOOKING
@@ -239,7 +311,7 @@ public class BookingServiceImpl implements BookingService {
         // 🔥 IMPORTANT FIX
         booking.setStatus(BookingStatus.CANCELLED);
 
-        return bookingRepository.save(booking);
+        return changeStatus(booking, BookingStatus.PENDING);
     }
 
     @Override
@@ -261,7 +333,20 @@ public class BookingServiceImpl implements BookingService {
 
         booking.setStatus(BookingStatus.COMPLETED);
 
-        return bookingRepository.save(booking);
+        return changeStatus(booking, BookingStatus.CONFIRMED);
+    }
+
+    // Flushes the row first: a concurrent rollup rebuild then waits for this
+    // transaction instead of deadlocking with it
+    private Booking changeStatus(Booking booking, BookingStatus previous) {
+        Booking saved = bookingRepository.saveAndFlush(booking);
+        bookingRollupService.recordStatusChange(saved, previous);
+        // Cancelled bookings are left out of the provider's calendar, so entering or
+        // leaving CANCELLED changes which slots are booked
+        if ((previous == BookingStatus.CANCELLED) != (saved.getStatus() == BookingStatus.CANCELLED)) {
+            availabilityService.invalidate(saved.getProviderId());
+        }
+        return saved;
     }
 
     public BookingDetailResponse getMyBookingDetailByEmail(Long bookingId, String email) {
@@ -304,7 +389,7 @@ public class BookingServiceImpl implements BookingService {
                 booking.getStatus().name(),
                 booking.getStartTime(),
                 booking.getEndTime(),
-                listing.getPrice(),
+                booking.getPrice(),
                 (int) durationHours,
                 reviewed                   // reviewed (not implemented yet)
         );
@@ -31,14 +31,19 @@ public class ImageResolverImpl implements ImageResolverService {
                     .toList();
         }
 
-        Category category = listing.getCategory();
+        return List.of(defaultImage(listing.getCategory()));
+    }
 
-        String fallback = DEFAULT_IMAGES.getOrDefault(
+    @Override
+    public String resolveCover(Category category, String imageUrl) {
+        return imageUrl != null ? imageUrl : defaultImage(category);
+    }
+
+    private String defaultImage(Category category) {
+        return DEFAULT_IMAGES.getOrDefault(
                 category != null ? category : Category.PLUMBING,
                 DEFAULT_IMAGES.get(Category.PLUMBING)
         );
-
-        return List.of(fallback);
     }
 
 }
@@ -1,5 +1,6 @@
 package com.quickserve.app.service.impl;
 
+import com.quickserve.app.config.CacheConfig;
 import com.quickserve.app.dto.*;
 import com.quickserve.app.model.Category;
 import com.quickserve.app.model.ListingImage;
@@ -7,12 +8,21 @@ import com.quickserve.app.model.ServiceListing;
 import com.quickserve.app.model.User;
 import com.quickserve.app.repository.ServiceListingRepository;
 import com.quickserve.app.repository.UserRepository;
+import com.quickserve.app.repository.specification.ServiceListingSpecifications;
 import com.quickserve.app.service.CloudinaryService;
 import com.quickserve.app.service.ImageResolverService;
 import com.quickserve.app.service.ListingService;
+import com.quickserve.app.service.ListingSuggestService;
+import com.quickserve.app.utils.SeekCursor;
+import com.quickserve.app.utils.TsQueryBuilder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,9 +31,15 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,18 +50,28 @@ public class ListingServiceImpl implements ListingService {
     private final UserRepository userRepository;
     private final ImageResolverService imageResolverService;
     private final CloudinaryService cloudinaryService;
+    private final ListingSuggestService listingSuggestService;
+
+    private static final int MAX_PAGE_SIZE = 100;
 
 
 
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
     public ServiceListing createListing(ServiceListing listing, User provider) {
         listing.setProvider(provider);
         listing.setActive(true);
-        return listingRepository.save(listing);
+        ServiceListing saved = listingRepository.save(listing);
+        listingSuggestService.refresh(saved);
+        return saved;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public ServiceListing updateListing(Long listingId, ServiceListing updatedListing, User provider) {
 
         ServiceListing existing = listingRepository.findById(listingId)
@@ -62,10 +88,16 @@ public class ListingServiceImpl implements ListingService {
         existing.setLocation(updatedListing.getLocation());
         existing.setCategory(updatedListing.getCategory());
 
-        return listingRepository.save(existing);
+        ServiceListing saved = listingRepository.save(existing);
+        listingSuggestService.refresh(saved);
+        return saved;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public void deleteListing(Long listingId, User provider) {
         ServiceListing existing = listingRepository.findById(listingId)
                 .orElseThrow(() -> new RuntimeException("Listing not found"));
@@ -77,6 +109,7 @@ public class ListingServiceImpl implements ListingService {
 
         existing.setActive(false);
         listingRepository.save(existing);
+        listingSuggestService.refresh(existing);
     }
 
     @Override
@@ -86,74 +119,116 @@ public class ListingServiceImpl implements ListingService {
     }
 
     @Override
-    public List<ServiceListingResponse> getAllActiveListings() {
-        return listingRepository.findByApprovedTrue()
-                .stream()
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LISTING_BY_ID, sync = true)
+    public ServiceListingResponse getPublicListing(Long id) {
+        return listingRepository.findById(id)
+                .filter(listing -> listing.isApproved() && listing.isActive())
                 .map(this::mapToServiceListingResponse)
-                .toList();
+                .orElseThrow(() -> new RuntimeException("Listing not found"));
     }
 
-
     @Override
-    public List<ServiceListing> getListingsByProvider(User provider) {
-        return listingRepository.findByProvider(provider);
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LISTING_PAGES, key = "{'cursor', #cursor, #size}", sync = true)
+    public CursorPage<ListingSummaryResponse> getAllActiveListings(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        SeekCursor after = SeekCursor.decode(cursor);
+
+        List<ListingSummaryResponse> rows = after == null
+                ? listingRepository.findApprovedSummaries(limit)
+                : listingRepository.findApprovedSummariesBefore(after.localDateTime(), after.id(), limit);
+
+        return CursorPage.of(
+                rows.stream().map(this::withCoverImage).toList(),
+                pageSize,
+                summary -> SeekCursor.of(summary.createdAt(), summary.id())
+        );
     }
 
     @Override
-    public Page<ServiceListingResponse> searchListings(String keyword, Pageable pageable) {
-        return listingRepository
-                .searchActiveListings(keyword.toLowerCase(), pageable)
-                .map(this::mapToServiceListingResponse);
+    @Transactional(readOnly = true)
+    public void streamAllActiveListings(Consumer<ListingSummaryResponse> sink) {
+        try (Stream<ListingSummaryResponse> rows = listingRepository.streamApprovedSummaries()) {
+            rows.map(this::withCoverImage).forEach(sink);
+        }
     }
 
 
     @Override
-    public List<ServiceListingResponse> filterListings(ListingFilterRequest filter) {
-
-        List<ServiceListing> base = listingRepository.findByApprovedTrue();
-
+    public List<ServiceListing> getListingsByProvider(User provider) {
+        return listingRepository.findByProvider(provider);
+    }
 
-        if (filter.getCategory() != null) {
-            base = base.stream()
-                    .filter(l -> l.getCategory() == filter.getCategory())
-                    .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ListingSummaryResponse> searchListings(String keyword, Pageable pageable) {
+        String query = TsQueryBuilder.prefixQuery(keyword);
+        Pageable page = unsorted(pageable);
+        if (query.isEmpty()) {
+            return Page.empty(page);
         }
 
+        return hydrateSummaries(listingRepository.searchActiveListingIds(query, page), page);
+    }
 
-        if (filter.getLocation() != null && !filter.getLocation().isBlank()) {
-            base = base.stream()
-                    .filter(l -> l.getLocation().equalsIgnoreCase(filter.getLocation()))
-                    .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ListingSummaryResponse> findAvailableListings(
+            Category category,
+            String location,
+            OffsetDateTime start,
+            OffsetDateTime end,
+            Pageable pageable
+    ) {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End time must be after start time");
         }
+        String place = location == null || location.isBlank() ? null : location.trim();
+        Pageable page = unsorted(pageable);
 
+        return hydrateSummaries(
+                listingRepository.findAvailableListingIds(category.name(), place, start, end, page),
+                page
+        );
+    }
 
-        if (filter.getMinPrice() != null) {
-            base = base.stream()
-                    .filter(l -> l.getPrice().compareTo(filter.getMinPrice()) >= 0)
-                    .collect(Collectors.toList());
-        }
+    // The native id queries fix their own order; Spring Data would append a client
+    // sort to their SQL verbatim, which breaks them
+    private static Pageable unsorted(Pageable pageable) {
+        return pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : pageable;
+    }
 
-        if (filter.getMaxPrice() != null) {
-            base = base.stream()
-                    .filter(l -> l.getPrice().compareTo(filter.getMaxPrice()) <= 0)
-                    .collect(Collectors.toList());
+    // Loads summaries for a page of ids, keeping the order the ids came in
+    private Page<ListingSummaryResponse> hydrateSummaries(Page<Long> ids, Pageable pageable) {
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
         }
 
+        Map<Long, ListingSummaryResponse> byId = listingRepository
+                .findSummariesByIdIn(ids.getContent())
+                .stream()
+                .collect(Collectors.toMap(ListingSummaryResponse::id, Function.identity()));
 
+        List<ListingSummaryResponse> content = ids.getContent()
+                .stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::withCoverImage)
+                .toList();
 
-        if (filter.getKeyword() != null && !filter.getKeyword().isBlank()) {
-            String kw = filter.getKeyword().toLowerCase();
-
-            base = base.stream()
-                    .filter(l ->
-                            l.getTitle().toLowerCase().contains(kw) ||
-                                    l.getDescription().toLowerCase().contains(kw)
-                    )
-                    .collect(Collectors.toList());
-        }
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
 
-        return base.stream().map(this::mapToServiceListingResponse).toList();
 
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LISTING_FILTERS, key = "{#filter.normalized(), #pageable}", sync = true)
+    public Page<ServiceListingResponse> filterListings(ListingFilterRequest filter, Pageable pageable) {
+        return listingRepository
+                .findAll(ServiceListingSpecifications.fromFilter(filter.normalized()), pageable)
+                .map(this::mapToServiceListingResponse);
     }
 
     private ServiceListingResponse mapToResponse(ServiceListing listing) {
@@ -174,6 +249,7 @@ public class ListingServiceImpl implements ListingService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
     public ServiceListingResponse createListing(CreateListingRequest request, MultipartFile image) {
 
         User provider = getCurrentProvider();
@@ -206,6 +282,8 @@ public class ListingServiceImpl implements ListingService {
             listingRepository.save(saved);
         }
 
+        listingSuggestService.refresh(saved);
+
         return mapToServiceListingResponse(saved);
     }
 
@@ -226,6 +304,10 @@ public class ListingServiceImpl implements ListingService {
 
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public ServiceListingResponse updateListing(Long listingId, UpdateListingRequest request) {
 
         User provider = getCurrentProvider();
@@ -250,10 +332,15 @@ public class ListingServiceImpl implements ListingService {
             listing.setCategory(request.getCategory());
 
         ServiceListing updated = listingRepository.save(listing);
+        listingSuggestService.refresh(updated);
         return mapToServiceListingResponse(updated);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public void deleteListing(Long listingId) {
 
         User provider = getCurrentProvider();
@@ -263,6 +350,7 @@ public class ListingServiceImpl implements ListingService {
                 .orElseThrow(() -> new RuntimeException("Listing not found or access denied"));
 
         listingRepository.delete(listing);
+        listingSuggestService.remove(listingId);
     }
 
     private User getCurrentProvider() {
@@ -288,12 +376,19 @@ public class ListingServiceImpl implements ListingService {
 
         res.setAverageRating(listing.getAvgRating());
         res.setRatingCount(listing.getRatingCount());
+        res.setRatingDistribution(RatingDistributionResponse.of(listing.getRatingHistogram()));
         res.setImages(imageResolverService.resolve(listing));
 
         return res;
     }
 
 
+    private ListingSummaryResponse withCoverImage(ListingSummaryResponse summary) {
+        return summary.withImageUrl(
+                imageResolverService.resolveCover(summary.category(), summary.imageUrl())
+        );
+    }
+
     private ProviderListingResponse mapToProviderListingResponse(ServiceListing listing) {
         ProviderListingResponse res = new ProviderListingResponse();
         res.setId(listing.getId());
@@ -318,13 +413,19 @@ public class ListingServiceImpl implements ListingService {
 
 
     @Override
-    public Page<ServiceListingResponse> getAllActiveListings(Pageable pageable) {
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.LISTING_PAGES, key = "{'page', #pageable}", sync = true)
+    public Page<ListingSummaryResponse> getAllActiveListings(Pageable pageable) {
         return listingRepository
-                .findByActiveTrue(pageable)
-                .map(this::mapToServiceListingResponse);
+                .findActiveSummaries(pageable)
+                .map(this::withCoverImage);
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#listingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public ServiceListingResponse updateListing(
             Long listingId,
             UpdateListingRequest request,
@@ -370,6 +471,7 @@ public class ListingServiceImpl implements ListingService {
         }
 
         ServiceListing updated = listingRepository.save(listing);
+        listingSuggestService.refresh(updated);
         return mapToServiceListingResponse(updated);
     }
 
@@ -0,0 +1,243 @@
+package com.quickserve.app.service.impl;
+
+import com.quickserve.app.dto.SuggestionResponse;
+import com.quickserve.app.model.Category;
+import com.quickserve.app.model.ServiceListing;
+import com.quickserve.app.repository.ServiceListingRepository;
+import com.quickserve.app.repository.projection.ListingSuggestProjection;
+import com.quickserve.app.service.ListingSuggestService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead over listing titles, locations and categories.
+ * <p>
+ * Lookups never touch the database: every word of every suggestion is kept in a
+ * sorted token map, so a prefix query is a single {@code subMap} range scan.
+ * Only approved and active listings are indexed. Writes are serialized on this
+ * bean; reads run lock-free against the concurrent maps.
+ */
+@Service
+public class ListingSuggestServiceImpl implements ListingSuggestService {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final ServiceListingRepository listingRepository;
+    private final Timer rebuildTimer;
+
+    private volatile Index index = new Index();
+
+    public ListingSuggestServiceImpl(
+            ServiceListingRepository listingRepository,
+            MeterRegistry meterRegistry
+    ) {
+        this.listingRepository = listingRepository;
+        this.rebuildTimer = Timer.builder("listing.suggest.rebuild")
+                .description("Time taken to rebuild the typeahead index from the database")
+                .register(meterRegistry);
+
+        Gauge.builder("listing.suggest.entries", this, s -> s.index.entries.size())
+                .description("Distinct suggestions held in memory")
+                .register(meterRegistry);
+        Gauge.builder("listing.suggest.tokens", this, s -> s.index.tokens.size())
+                .description("Distinct words in the typeahead index")
+                .register(meterRegistry);
+        Gauge.builder("listing.suggest.memory", this, s -> s.index.estimateBytes())
+                .description("Rough estimate of the typeahead index heap footprint")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        // Earlier words must match whole tokens, the last one is still being typed
+        String prefix = words.get(words.size() - 1);
+        List<String> required = words.subList(0, words.size() - 1);
+
+        Index current = index;
+        Set<String> keys = new HashSet<>();
+        current.tokens
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, true)
+                .values()
+                .forEach(keys::addAll);
+
+        return keys.stream()
+                .map(current.entries::get)
+                .filter(Objects::nonNull)
+                .filter(entry -> entry.tokens.containsAll(required))
+                .sorted(Comparator
+                        .comparingInt((Entry entry) -> entry.listingIds.size()).reversed()
+                        .thenComparingInt(entry -> entry.text.length())
+                        .thenComparing(entry -> entry.text))
+                .limit(Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .map(entry -> new SuggestionResponse(entry.text, entry.type, entry.listingIds.size()))
+                .toList();
+    }
+
+    @Override
+    public void refresh(ServiceListing listing) {
+        Long id = listing.getId();
+        boolean visible = listing.isApproved() && listing.isActive();
+        String title = listing.getTitle();
+        String location = listing.getLocation();
+        Category category = listing.getCategory();
+
+        afterCommit(() -> {
+            synchronized (this) {
+                index.remove(id);
+                if (visible) {
+                    index.add(id, title, location, category);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void remove(Long listingId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                index.remove(listingId);
+            }
+        });
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        Timer.Sample sample = Timer.start();
+
+        Index fresh = new Index();
+        try (Stream<ListingSuggestProjection> rows = listingRepository.streamSuggestSource()) {
+            rows.forEach(row -> fresh.add(row.getId(), row.getTitle(), row.getLocation(), row.getCategory()));
+        }
+        index = fresh;
+
+        sample.stop(rebuildTimer);
+    }
+
+    // Apply index changes only once the listing change is actually committed
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private static final class Entry {
+        final String text;
+        final String type;
+        final List<String> tokens;
+        final Set<Long> listingIds = ConcurrentHashMap.newKeySet();
+
+        Entry(String text, String type) {
+            this.text = text;
+            this.type = type;
+            this.tokens = tokenize(text);
+        }
+    }
+
+    private static final class Index {
+        // "TYPE:normalized text" -> suggestion
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        // word -> keys of every suggestion containing it
+        final NavigableMap<String, Set<String>> tokens = new ConcurrentSkipListMap<>();
+        // listing -> keys it contributes to, so updates can retract them
+        final Map<Long, List<String>> byListing = new ConcurrentHashMap<>();
+
+        void add(Long listingId, String title, String location, Category category) {
+            List<String> keys = new ArrayList<>(3);
+            addValue(listingId, title, "TITLE", keys);
+            addValue(listingId, location, "LOCATION", keys);
+            addValue(listingId, category != null ? category.name().replace('_', ' ') : null, "CATEGORY", keys);
+            byListing.put(listingId, keys);
+        }
+
+        void remove(Long listingId) {
+            List<String> keys = byListing.remove(listingId);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                Entry entry = entries.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                entry.listingIds.remove(listingId);
+                if (entry.listingIds.isEmpty()) {
+                    entries.remove(key);
+                    for (String token : entry.tokens) {
+                        Set<String> owners = tokens.get(token);
+                        if (owners != null) {
+                            owners.remove(key);
+                            if (owners.isEmpty()) {
+                                tokens.remove(token);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addValue(Long listingId, String value, String type, List<String> keys) {
+            if (value == null || value.isBlank()) {
+                return;
+            }
+            String text = value.trim();
+            String key = type + ":" + text.toLowerCase(Locale.ROOT);
+
+            Entry entry = entries.computeIfAbsent(key, k -> new Entry(text, type));
+            entry.listingIds.add(listingId);
+            for (String token : entry.tokens) {
+                tokens.computeIfAbsent(token, t -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            keys.add(key);
+        }
+
+        // Object headers, map nodes and UTF-16 chars; good enough to spot growth trends
+        long estimateBytes() {
+            long bytes = 0;
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                bytes += 120 + 2L * e.getKey().length() + 2L * e.getValue().text.length();
+                bytes += 48L * e.getValue().listingIds.size();
+            }
+            for (Map.Entry<String, Set<String>> e : tokens.entrySet()) {
+                bytes += 96 + 2L * e.getKey().length() + 32L * e.getValue().size();
+            }
+            bytes += 96L * byListing.size();
+            return bytes;
+        }
+    }
+}
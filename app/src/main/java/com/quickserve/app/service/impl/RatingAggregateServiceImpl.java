@@ -0,0 +1,135 @@
+package com.quickserve.app.service.impl;
+
+import com.quickserve.app.dto.ProviderRatingResponse;
+import com.quickserve.app.dto.RatingDistributionResponse;
+import com.quickserve.app.model.ProviderRating;
+import com.quickserve.app.model.RatingHistogram;
+import com.quickserve.app.model.ServiceListing;
+import com.quickserve.app.repository.ProviderRatingRepository;
+import com.quickserve.app.repository.ServiceListingRepository;
+import com.quickserve.app.service.RatingAggregateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listing and provider ratings as running totals (count, star sum and per-star
+ * histogram), updated with
+ * atomic in-place increments when a review is stored, instead of averaging every
+ * review on read.
+ * <p>
+ * The totals can only drift through writes that bypass {@link #recordReview}, e.g.
+ * manual SQL. {@link #reconcile} recomputes them from {@code reviews} nightly
+ * ({@code rating.reconcile.cron}) and on demand from the admin API.
+ */
+@Service
+public class RatingAggregateServiceImpl implements RatingAggregateService {
+
+    private final ServiceListingRepository serviceListingRepository;
+    private final ProviderRatingRepository providerRatingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter listingsCorrected;
+    private final Counter providersCorrected;
+
+    public RatingAggregateServiceImpl(
+            ServiceListingRepository serviceListingRepository,
+            ProviderRatingRepository providerRatingRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.serviceListingRepository = serviceListingRepository;
+        this.providerRatingRepository = providerRatingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.listingsCorrected = Counter.builder("ratings.reconcile.corrected")
+                .tag("aggregate", "listing")
+                .register(meterRegistry);
+        this.providersCorrected = Counter.builder("ratings.reconcile.corrected")
+                .tag("aggregate", "provider")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordReview(Long serviceListingId, Long providerId, int stars) {
+        serviceListingRepository.addReview(serviceListingId, stars);
+        providerRatingRepository.addReview(providerId, stars);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Double getListingAverage(Long serviceListingId) {
+        return serviceListingRepository.findById(serviceListingId)
+                .filter(listing -> listing.getRatingCount() != null && listing.getRatingCount() > 0)
+                .map(listing -> (double) listing.getRatingSum() / listing.getRatingCount())
+                .orElse(0.0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Double getProviderAverage(Long providerId) {
+        return providerRatingRepository.findById(providerId)
+                .map(ProviderRating::average)
+                .orElse(0.0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProviderRatingResponse getProviderRating(Long providerId) {
+        return providerRatingRepository.findById(providerId)
+                .map(rating -> new ProviderRatingResponse(rating.average(), rating.getRatingCount()))
+                .orElseGet(() -> new ProviderRatingResponse(0.0, 0L));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RatingDistributionResponse> getListingDistribution(Long serviceListingId) {
+        RatingHistogram histogram = serviceListingRepository.findById(serviceListingId)
+                .map(ServiceListing::getRatingHistogram)
+                .orElseGet(RatingHistogram::new);
+        return RatingDistributionResponse.of(histogram);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RatingDistributionResponse> getProviderDistribution(Long providerId) {
+        RatingHistogram histogram = providerRatingRepository.findById(providerId)
+                .map(ProviderRating::getRatingHistogram)
+                .orElseGet(RatingHistogram::new);
+        return RatingDistributionResponse.of(histogram);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RatingDistributionResponse> getPlatformDistribution() {
+        return RatingDistributionResponse.of(providerRatingRepository.sumHistograms());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public double getPlatformAverage() {
+        return providerRatingRepository.sumHistograms().average();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${rating.reconcile.cron:0 30 3 * * *}")
+    public Map<String, Integer> reconcile() {
+        // Holds off new reviews (and their increments) until the recount commits,
+        // otherwise one committing mid-recount could be overwritten by the stale total
+        jdbcTemplate.execute("LOCK TABLE reviews IN SHARE MODE");
+
+        int listings = serviceListingRepository.reconcileRatings();
+        int providers = providerRatingRepository.reconcile();
+
+        listingsCorrected.increment(listings);
+        providersCorrected.increment(providers);
+        return Map.of("listingsCorrected", listings, "providersCorrected", providers);
+    }
+}
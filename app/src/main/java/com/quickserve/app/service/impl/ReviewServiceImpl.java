@@ -1,5 +1,10 @@
 package com.quickserve.app.service.impl;
 
+import com.quickserve.app.config.CacheConfig;
+import com.quickserve.app.dto.CursorPage;
+import com.quickserve.app.dto.ProviderRatingResponse;
+import com.quickserve.app.dto.RatingDistributionResponse;
+import com.quickserve.app.dto.ReviewResponse;
 import com.quickserve.app.model.Booking;
 import com.quickserve.app.model.BookingStatus;
 import com.quickserve.app.model.Review;
@@ -7,8 +12,15 @@ import com.quickserve.app.model.User;
 import com.quickserve.app.repository.BookingRepository;
 import com.quickserve.app.repository.ReviewRepository;
 import com.quickserve.app.repository.UserRepository;
+import com.quickserve.app.repository.specification.Keyset;
+import com.quickserve.app.service.RatingAggregateService;
 import com.quickserve.app.service.ReviewService;
+import com.quickserve.app.utils.SeekCursor;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
@@ -18,16 +30,24 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewRepository reviewRepository;
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final RatingAggregateService ratingAggregateService;
 
     public ReviewServiceImpl(ReviewRepository reviewRepository,
-                             BookingRepository bookingRepository, UserRepository userRepository) {
+                             BookingRepository bookingRepository, UserRepository userRepository,
+                             RatingAggregateService ratingAggregateService) {
         this.reviewRepository = reviewRepository;
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
+        this.ratingAggregateService = ratingAggregateService;
     }
 
     @Override
     @Transactional
+    // Listing pages and filter results carry the rating too
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LISTING_BY_ID, key = "#result.booking.serviceListingId"),
+            @CacheEvict(cacheNames = {CacheConfig.LISTING_PAGES, CacheConfig.LISTING_FILTERS}, allEntries = true)
+    })
     public Review submitReviewByEmail(
             String email,
             Long bookingId,
@@ -68,7 +88,9 @@ public class ReviewServiceImpl implements ReviewService {
         review.setStars(stars);
         review.setComment(comment);
 
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        ratingAggregateService.recordReview(booking.getServiceListingId(), provider.getId(), stars);
+        return saved;
     }
 
 
@@ -83,25 +105,41 @@ public class ReviewServiceImpl implements ReviewService {
 
 
     @Override
-    public List<Review> getProviderReviews(Long providerId) {
-        return reviewRepository.findAll()
-                .stream()
-                .filter(r -> r.getProvider().getId().equals(providerId))
-                .toList();
+    public List<ReviewResponse> getProviderReviews(Long providerId) {
+        return reviewRepository.findAllResponsesByProviderId(providerId);
+    }
+
+    @Override
+    public CursorPage<ReviewResponse> getProviderReviews(Long providerId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), Keyset.MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        SeekCursor after = SeekCursor.decode(cursor);
+
+        List<ReviewResponse> rows = after == null
+                ? reviewRepository.findResponsesByProviderId(providerId, limit)
+                : reviewRepository.findResponsesByProviderIdBefore(providerId, after.localDateTime(), after.id(), limit);
+
+        return CursorPage.of(rows, pageSize, review -> SeekCursor.of(review.getCreatedAt(), review.getId()));
     }
 
     @Override
     public Double getProviderAverageRating(Long providerId) {
-        List<Review> reviews = getProviderReviews(providerId);
+        return ratingAggregateService.getProviderAverage(providerId);
+    }
 
-        if (reviews.isEmpty()) {
-            return 0.0;
-        }
+    @Override
+    public ProviderRatingResponse getProviderRatingSummary(Long providerId) {
+        return ratingAggregateService.getProviderRating(providerId);
+    }
 
-        return reviews.stream()
-                .mapToInt(Review::getStars)
-                .average()
-                .orElse(0.0);
+    @Override
+    public List<RatingDistributionResponse> getProviderRatingDistribution(Long providerId) {
+        return ratingAggregateService.getProviderDistribution(providerId);
+    }
+
+    @Override
+    public List<RatingDistributionResponse> getServiceRatingDistribution(Long serviceListingId) {
+        return ratingAggregateService.getListingDistribution(serviceListingId);
     }
 
     @Override
@@ -111,18 +149,7 @@ public class ReviewServiceImpl implements ReviewService {
 
     @Override
     public Double getServiceAverageRating(Long serviceListingId) {
-
-        List<Review> reviews = reviewRepository
-                .findByBooking_ServiceListingId(serviceListingId);
-
-        if (reviews.isEmpty()) {
-            return 0.0;
-        }
-
-        return reviews.stream()
-                .mapToInt(Review::getStars)
-                .average()
-                .orElse(0.0);
+        return ratingAggregateService.getListingAverage(serviceListingId);
     }
 
 }
@@ -5,6 +5,7 @@ import com.quickserve.app.dto.RegisterRequest;
 import com.quickserve.app.model.User;
 import com.quickserve.app.repository.UserRepository;
 import com.quickserve.app.service.UserService;
+import com.quickserve.app.service.UserTotalService;
 import com.quickserve.app.utils.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,6 +14,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserServiceImpl implements UserService {
@@ -28,7 +30,11 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private UserTotalService userTotalService;
+
     @Override
+    @Transactional
     public User register(RegisterRequest request){
         if(userRepository.findByEmail(request.getEmail()).isPresent()){
             throw new RuntimeException("Email already exists");
@@ -42,7 +48,9 @@ public class UserServiceImpl implements UserService {
         user.setVerified(false);
         user.setDetailsFilled(false);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userTotalService.recordRegistered(saved);
+        return saved;
     }
 
     @Override
@@ -0,0 +1,89 @@
+package com.quickserve.app.service.impl;
+
+import com.quickserve.app.model.Role;
+import com.quickserve.app.model.User;
+import com.quickserve.app.model.UserRoleTotal;
+import com.quickserve.app.repository.UserRoleTotalRepository;
+import com.quickserve.app.service.UserTotalService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registered users per role, one row per role incremented in place on registration,
+ * instead of counting {@code users} on every dashboard or stats read.
+ * <p>
+ * Writes that bypass {@link #recordRegistered} (manual SQL, role changes) leave the
+ * totals behind; {@link #reconcile} recounts them nightly ({@code user.totals.reconcile.cron})
+ * and on demand from the admin API.
+ */
+@Service
+public class UserTotalServiceImpl implements UserTotalService {
+
+    private static final String UNASSIGNED = "UNASSIGNED";
+
+    private final UserRoleTotalRepository userRoleTotalRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter rowsCorrected;
+
+    public UserTotalServiceImpl(
+            UserRoleTotalRepository userRoleTotalRepository,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRoleTotalRepository = userRoleTotalRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsCorrected = Counter.builder("user.totals.reconcile.corrected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRegistered(User user) {
+        userRoleTotalRepository.addUser(user.getRole() == null ? UNASSIGNED : user.getRole().name());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Role, Long> countsByRole() {
+        Map<Role, Long> counts = new EnumMap<>(Role.class);
+        for (Role role : Role.values()) {
+            counts.put(role, 0L);
+        }
+        for (UserRoleTotal total : userRoleTotalRepository.findAll()) {
+            if (!total.getRole().equals(UNASSIGNED)) {
+                counts.put(Role.valueOf(total.getRole()), total.getUsers());
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long totalUsers() {
+        return userRoleTotalRepository.findAll().stream()
+                .mapToLong(UserRoleTotal::getUsers)
+                .sum();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${user.totals.reconcile.cron:0 0 4 * * *}")
+    public Map<String, Integer> reconcile() {
+        // Holds off registrations until the recount commits, otherwise one committing
+        // mid-recount could be overwritten by the stale total
+        jdbcTemplate.execute("LOCK TABLE users IN SHARE MODE");
+
+        int corrected = userRoleTotalRepository.reconcile();
+
+        rowsCorrected.increment(corrected);
+        return Map.of("rowsCorrected", corrected);
+    }
+}
@@ -0,0 +1,45 @@
+package com.quickserve.app.utils;
+
+import com.quickserve.app.dto.CursorPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+
+/**
+ * Adds an RFC 8288 {@code Link: <...>; rel="next"} header to keyset pages,
+ * pointing at the current request with its {@code cursor} parameter advanced.
+ */
+public final class CursorLinks {
+
+    private CursorLinks() {
+    }
+
+    public static <T> ResponseEntity<CursorPage<T>> ok(CursorPage<T> page) {
+        return withNext(page, ServletUriComponentsBuilder.fromCurrentRequest()).body(page);
+    }
+
+    /**
+     * The first page of an endpoint that predates pagination: the plain list as body,
+     * and the next link switching the request to its keyset form with {@code size}.
+     */
+    public static <T> ResponseEntity<List<T>> firstPage(CursorPage<T> page, int size) {
+        return withNext(page, ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("size", size)).body(page.items());
+    }
+
+    private static ResponseEntity.BodyBuilder withNext(CursorPage<?> page, UriComponentsBuilder request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+        if (page.nextCursor() != null) {
+            String next = request
+                    .replaceQueryParam("cursor", page.nextCursor())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+
+        return response;
+    }
+}
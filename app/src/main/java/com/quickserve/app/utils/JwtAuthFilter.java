@@ -1,28 +1,36 @@
 package com.quickserve.app.utils;
 
+import com.quickserve.app.security.PrincipalCache;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, PrincipalCache principalCache) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
     }
 
     @Override
@@ -49,15 +57,20 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        // 1️⃣ Extract username (email)
-        String email = jwtUtil.extractUsername(token);
+        // 1️⃣ Recently seen token: no parsing, no DB
+        UserDetails userDetails = principalCache.get(token);
 
-        // 2️⃣ Load UserDetails (THIS was missing)
-        UserDetails userDetails =
-                userDetailsService.loadUserByUsername(email);
+        // 2️⃣ Otherwise verify once and build the principal from the claims
+        if (userDetails == null) {
+            try {
+                userDetails = authenticate(token);
+            } catch (JwtException | UsernameNotFoundException e) {
+                userDetails = null;
+            }
+        }
 
-        // 3️⃣ Validate token against UserDetails
-        if (!jwtUtil.validateToken(token, userDetails)) {
+        // 3️⃣ Bad signature, expired, revoked or unknown user
+        if (userDetails == null) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             return;
         }
@@ -79,6 +92,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetails authenticate(String token) {
+        VerifiedToken verified = jwtUtil.parseAndValidate(token);
+        String email = verified.subject();
+
+        if (principalCache.isRevoked(email, verified.issuedAt())) {
+            return null;
+        }
+
+        // Tokens carry the role; only older ones without it need the user row
+        UserDetails userDetails = verified.role() != null
+                ? new User(email, "", List.of(new SimpleGrantedAuthority(verified.role())))
+                : userDetailsService.loadUserByUsername(email);
+
+        principalCache.put(token, userDetails, verified.issuedAt(), verified.expiresAt());
+        return userDetails;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
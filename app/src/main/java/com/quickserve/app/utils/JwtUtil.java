@@ -1,38 +1,189 @@
 package com.quickserve.app.utils;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SecurityException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.security.GeneralSecurityException;
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Issues and verifies access tokens.
+ * <p>
+ * Keys and the parser are built once at startup; {@link JwtParser} is immutable
+ * and thread-safe, so every request shares it. By default tokens are HS512-signed
+ * with {@code jwt.secret}. Setting {@code jwt.signing.algorithm} to {@code ES256}
+ * or {@code EdDSA} switches to an asymmetric private key, published under
+ * {@code jwt.signing.key-id}; {@code jwt.verification.public-keys} lists every
+ * key id still accepted, so keys can be rotated without logging users out.
+ * <p>
+ * After switching to an asymmetric algorithm, HS512 tokens issued before the switch
+ * carry no key id and are rejected, unless {@code jwt.verification.legacy-hmac-until}
+ * is set: they are then still accepted, with {@code jwt.secret}, until that instant.
+ * Set it to the switch time plus {@code jwt.expiration} so no user is logged out.
+ */
 @Component
 public class JwtUtil {
-    @Value("${jwt.secret}")
-    private String secret;
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private final Long expiration;
+    private final SecretKey secretKey;
+    private final Key signingKey;
+    private final String signingKeyId;
+    private final SecureDigestAlgorithm<Key, ?> algorithm;
+    private final JwtParser parser;
+
+    @SuppressWarnings("unchecked")
+    public JwtUtil(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.expiration}") Long expiration,
+            @Value("${jwt.signing.algorithm:HS512}") String algorithm,
+            @Value("${jwt.signing.key-id:}") String keyId,
+            @Value("${jwt.signing.private-key:}") String privateKey,
+            @Value("${jwt.verification.public-keys:}") String publicKeys,
+            @Value("${jwt.verification.legacy-hmac-until:}") String legacyHmacUntil
+    ) {
+        this.expiration = expiration;
+        // The old String-based API base64-decoded the secret, so existing tokens stay valid
+        this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        // Until when tokens without a key id are verified with the secret
+        Instant hmacUntil;
+
+        switch (algorithm) {
+            case "HS512" -> {
+                this.signingKey = secretKey;
+                this.signingKeyId = null;
+                this.algorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Jwts.SIG.HS512;
+                hmacUntil = Instant.MAX;
+            }
+            case "ES256", "EdDSA" -> {
+                String jcaName = algorithm.equals("ES256") ? "EC" : "Ed25519";
+                verificationKeys.putAll(parsePublicKeys(publicKeys, jcaName));
+                if (keyId.isBlank() || !verificationKeys.containsKey(keyId)) {
+                    throw new IllegalStateException(
+                            "jwt.verification.public-keys must contain jwt.signing.key-id");
+                }
+                this.signingKey = parsePrivateKey(privateKey, jcaName);
+                this.signingKeyId = keyId;
+                this.algorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>)
+                        (algorithm.equals("ES256") ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA);
+                hmacUntil = parseInstant(legacyHmacUntil);
+            }
+            default -> throw new IllegalStateException("Unsupported jwt.signing.algorithm: " + algorithm);
+        }
+
+        // kid selects a rotated public key; tokens without one are the HS512 kind
+        Instant legacyUntil = hmacUntil;
+        this.parser = Jwts.parser()
+                .keyLocator(header -> {
+                    String kid = header instanceof ProtectedHeader protectedHeader
+                            ? protectedHeader.getKeyId()
+                            : null;
+                    if (kid == null) {
+                        if (!Instant.now().isBefore(legacyUntil)) {
+                            throw new SecurityException("Token has no key id");
+                        }
+                        return secretKey;
+                    }
+                    PublicKey key = verificationKeys.get(kid);
+                    if (key == null) {
+                        throw new SecurityException("Unknown key id: " + kid);
+                    }
+                    return key;
+                })
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setSubject(userDetails.getUsername())
-                .claim("role",userDetails.getAuthorities().iterator().next().getAuthority())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis()+expiration))
-                .signWith(SignatureAlgorithm.HS512, secret)
+                .header().keyId(signingKeyId).and()
+                .subject(userDetails.getUsername())
+                .claim("role", userDetails.getAuthorities().iterator().next().getAuthority())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .signWith(signingKey, algorithm)
                 .compact();
     }
 
-    public String extractUsername(String token){
-        return Jwts.parser().setSigningKey(secret)
-                .build()
-                .parseClaimsJws(token).getBody().getSubject();
+    /**
+     * Verifies signature and expiry once and returns everything the caller needs.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+     */
+    public VerifiedToken parseAndValidate(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+        );
+    }
+
+    public String extractUsername(String token) {
+        return parseAndValidate(token).subject();
+    }
+
+    // Blank: no legacy tokens at all
+    private static Instant parseInstant(String value) {
+        if (value.isBlank()) {
+            return Instant.MIN;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("Invalid jwt.verification.legacy-hmac-until: " + value, e);
+        }
+    }
+
+    private static PrivateKey parsePrivateKey(String base64, String jcaName) {
+        try {
+            return KeyFactory.getInstance(jcaName)
+                    .generatePrivate(new PKCS8EncodedKeySpec(Decoders.BASE64.decode(base64)));
+        } catch (GeneralSecurityException | RuntimeException e) {
+            throw new IllegalStateException("Invalid jwt.signing.private-key", e);
+        }
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        return extractUsername(token).equals(userDetails.getUsername());
+    // "kid1:<base64 X.509>,kid2:<base64 X.509>"
+    private static Map<String, PublicKey> parsePublicKeys(String value, String jcaName) {
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid jwt.verification.public-keys entry: " + entry);
+            }
+            try {
+                keys.put(parts[0], KeyFactory.getInstance(jcaName)
+                        .generatePublic(new X509EncodedKeySpec(Decoders.BASE64.decode(parts[1]))));
+            } catch (GeneralSecurityException | RuntimeException e) {
+                throw new IllegalStateException("Invalid public key for kid " + parts[0], e);
+            }
+        }
+        return keys;
     }
 }
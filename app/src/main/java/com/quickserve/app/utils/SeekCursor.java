@@ -0,0 +1,72 @@
+package com.quickserve.app.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset (seek) page ordered by {@code (createdAt DESC, id DESC)}.
+ * Clients only ever see the opaque {@link #encode() encoded} form.
+ * <p>
+ * {@link LocalDateTime} columns are mapped through UTC both ways, which is lossless.
+ */
+public record SeekCursor(Instant createdAt, Long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static SeekCursor of(LocalDateTime createdAt, Long id) {
+        return new SeekCursor(createdAt.toInstant(ZoneOffset.UTC), id);
+    }
+
+    public static SeekCursor of(OffsetDateTime createdAt, Long id) {
+        return new SeekCursor(createdAt.toInstant(), id);
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for a missing cursor (first page)
+     * @throws InvalidCursorException if the cursor was not produced by {@link #encode()}
+     */
+    public static SeekCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            return new SeekCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2])
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime localDateTime() {
+        return LocalDateTime.ofInstant(createdAt, ZoneOffset.UTC);
+    }
+
+    public OffsetDateTime offsetDateTime() {
+        return createdAt.atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * A client-supplied cursor that does not decode; answered with 400 by
+     * {@link com.quickserve.app.controller.CursorExceptionHandler}.
+     */
+    public static class InvalidCursorException extends IllegalArgumentException {
+
+        public InvalidCursorException() {
+            super("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.quickserve.app.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Turns free text typed by a user into a Postgres {@code to_tsquery} expression.
+ * Every word becomes a prefix match and all words must be present,
+ * e.g. {@code "deep clean"} becomes {@code "deep:* & clean:*"}.
+ */
+public final class TsQueryBuilder {
+
+    private TsQueryBuilder() {
+    }
+
+    /**
+     * Only letters and digits survive, so the result can never carry
+     * tsquery operators supplied by the caller.
+     *
+     * @return the tsquery text, or an empty string when no searchable word is left
+     */
+    public static String prefixQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
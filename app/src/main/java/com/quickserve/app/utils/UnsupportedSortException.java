@@ -0,0 +1,15 @@
+package com.quickserve.app.utils;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * A client-supplied sort key the endpoint does not expose; answered with 400 by
+ * {@link com.quickserve.app.controller.SortExceptionHandler}.
+ */
+public class UnsupportedSortException extends IllegalArgumentException {
+
+    public UnsupportedSortException(String resource, Collection<String> allowed) {
+        super(resource + " can only be sorted by " + new TreeSet<>(allowed));
+    }
+}
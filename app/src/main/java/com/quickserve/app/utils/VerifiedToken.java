@@ -0,0 +1,12 @@
+package com.quickserve.app.utils;
+
+import java.time.Instant;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked.
+ *
+ * @param role the granted authority written at login (e.g. {@code ROLE_CUSTOMER}),
+ *             or {@code null} for tokens issued before the claim existed
+ */
+public record VerifiedToken(String subject, String role, Instant issuedAt, Instant expiresAt) {
+}
@@ -0,0 +1,22 @@
+-- V2 only warned when existing bookings overlapped and went on without
+-- bookings_no_overlap. Nothing else stops a double booking, so a database still
+-- missing the constraint now fails this migration (and with it startup) until the
+-- overlaps are resolved; the next start retries.
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT bookings_no_overlap
+            EXCLUDE USING gist (provider_id WITH =, time_range WITH &&)
+            WHERE (status <> 'CANCELLED');
+    END IF;
+EXCEPTION
+    WHEN exclusion_violation THEN
+        RAISE EXCEPTION 'bookings_no_overlap cannot be added: existing bookings overlap'
+            USING HINT = 'Cancel one booking of each pair found by: '
+                      || 'SELECT a.id, b.id FROM bookings a JOIN bookings b ON a.provider_id = b.provider_id '
+                      || 'AND a.id < b.id AND a.time_range && b.time_range '
+                      || 'WHERE a.status <> ''CANCELLED'' AND b.status <> ''CANCELLED''';
+END
+$$;
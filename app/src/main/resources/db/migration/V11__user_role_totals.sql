@@ -0,0 +1,15 @@
+-- Registered users per role, maintained on registration (see UserTotalServiceImpl)
+-- so the admin dashboard and user stats never count the users table. Users without
+-- a role are counted under 'UNASSIGNED'.
+
+CREATE TABLE IF NOT EXISTS user_role_totals (
+    role  varchar(255) NOT NULL PRIMARY KEY,
+    users bigint       NOT NULL DEFAULT 0
+);
+
+-- Backfill from the users registered so far
+INSERT INTO user_role_totals (role, users)
+SELECT COALESCE(role, 'UNASSIGNED'), count(*)
+FROM users
+GROUP BY 1
+ON CONFLICT DO NOTHING;
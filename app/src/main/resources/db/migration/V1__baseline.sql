@@ -0,0 +1,145 @@
+-- Baseline schema. Existing databases were created by ddl-auto=update, so every
+-- statement is IF NOT EXISTS: on those databases this only adds the indexes.
+-- Flyway baselines them at version 0 (spring.flyway.baseline-version) so this still runs.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS provider_details_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS service_listings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS listing_images_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS reviews_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS calendar_availability_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS availability_rules_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS notifications_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id             bigint       NOT NULL PRIMARY KEY,
+    username       varchar(255),
+    email          varchar(255) UNIQUE,
+    password       varchar(255),
+    role           varchar(255) CHECK (role IN ('CUSTOMER', 'PROVIDER', 'ADMIN')),
+    details_filled boolean      NOT NULL,
+    verified       boolean      NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS provider_details (
+    id               bigint       NOT NULL PRIMARY KEY,
+    user_id          bigint UNIQUE REFERENCES users,
+    service_category varchar(255),
+    price            float(53),
+    availability     varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS service_listings (
+    id           bigint         NOT NULL PRIMARY KEY,
+    title        varchar(100)   NOT NULL,
+    description  varchar(255)   NOT NULL,
+    price        numeric(10, 2) NOT NULL,
+    location     varchar(255)   NOT NULL,
+    category     varchar(255) CHECK (category IN ('CLEANING', 'PLUMBING', 'ELECTRICAL', 'AC_SERVICE',
+                                                  'BEAUTY', 'MOVERS', 'REPAIRS')),
+    provider_id  bigint         NOT NULL REFERENCES users,
+    active       boolean        NOT NULL,
+    approved     boolean        NOT NULL,
+    avg_rating   numeric(2, 1),
+    rating_count integer,
+    created_at   timestamp(6),
+    updated_at   timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS listing_images (
+    id         bigint       NOT NULL PRIMARY KEY,
+    image_url  varchar(255) NOT NULL,
+    listing_id bigint       NOT NULL REFERENCES service_listings
+);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id                 bigint       NOT NULL PRIMARY KEY,
+    user_id            bigint       NOT NULL,
+    provider_id        bigint       NOT NULL,
+    service_listing_id bigint       NOT NULL REFERENCES service_listings,
+    start_time         timestamp(6) with time zone,
+    end_time           timestamp(6) with time zone,
+    status             varchar(255) NOT NULL CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED',
+                                                               'REJECTED', 'COMPLETED')),
+    created_at         timestamp(6) with time zone,
+    updated_at         timestamp(6) with time zone
+);
+
+CREATE TABLE IF NOT EXISTS reviews (
+    id          bigint       NOT NULL PRIMARY KEY,
+    booking_id  bigint       NOT NULL UNIQUE REFERENCES bookings,
+    user_id     bigint       NOT NULL REFERENCES users,
+    provider_id bigint       NOT NULL REFERENCES users,
+    stars       integer      NOT NULL,
+    comment     varchar(500),
+    created_at  timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS calendar_availability (
+    id          bigint                      NOT NULL PRIMARY KEY,
+    provider_id bigint                      NOT NULL,
+    start_time  timestamp(6) with time zone NOT NULL,
+    end_time    timestamp(6) with time zone NOT NULL,
+    created_at  timestamp(6) with time zone NOT NULL,
+    updated_at  timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS availability_rules (
+    id          bigint                      NOT NULL PRIMARY KEY,
+    provider_id bigint                      NOT NULL,
+    day_of_week varchar(255)                NOT NULL CHECK (day_of_week IN ('MONDAY', 'TUESDAY', 'WEDNESDAY',
+                                                                            'THURSDAY', 'FRIDAY', 'SATURDAY',
+                                                                            'SUNDAY')),
+    start_time  time(6)                     NOT NULL,
+    end_time    time(6)                     NOT NULL,
+    zone        varchar(255)                NOT NULL,
+    valid_from  date,
+    valid_until date,
+    created_at  timestamp(6) with time zone NOT NULL,
+    updated_at  timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS availability_rule_exceptions (
+    rule_id       bigint NOT NULL REFERENCES availability_rules,
+    excluded_date date   NOT NULL,
+    PRIMARY KEY (excluded_date, rule_id)
+);
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id          bigint  NOT NULL PRIMARY KEY,
+    user_id     bigint,
+    message     varchar(255),
+    read_status boolean NOT NULL,
+    created_at  timestamp(6)
+);
+
+-- Access paths of the hot queries
+
+-- Provider booking lists, overlap checks and calendar loads
+CREATE INDEX IF NOT EXISTS idx_bookings_provider_start
+    ON bookings (provider_id, start_time);
+
+-- Customer booking lists (/api/bookings/my)
+CREATE INDEX IF NOT EXISTS idx_bookings_user
+    ON bookings (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_calendar_availability_provider_start
+    ON calendar_availability (provider_id, start_time);
+
+CREATE INDEX IF NOT EXISTS idx_availability_rules_provider
+    ON availability_rules (provider_id);
+
+-- Provider reviews and rating summaries
+CREATE INDEX IF NOT EXISTS idx_reviews_provider
+    ON reviews (provider_id);
+
+-- Notification inbox, newest first (keyset: created_at DESC, id DESC)
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_service_listings_provider
+    ON service_listings (provider_id);
+
+CREATE INDEX IF NOT EXISTS idx_listing_images_listing
+    ON listing_images (listing_id);
@@ -0,0 +1,74 @@
+-- Postgres-specific objects: full-text search, keyset and range indexes, the
+-- booking exclusion constraint, and the IDENTITY -> sequence hand-over.
+-- Idempotent, since databases that ran the former spring.sql.init script already have them.
+
+-- Full-text search over listings: weighted title > location > description.
+-- A stored generated column keeps the vector in sync on every insert/update.
+ALTER TABLE service_listings
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+            setweight(to_tsvector('english', coalesce(location, '')), 'B') ||
+            setweight(to_tsvector('english', coalesce(description, '')), 'C')
+        ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_service_listings_search_vector
+    ON service_listings USING GIN (search_vector);
+
+-- Keyset pagination of the public catalog: ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_service_listings_approved_created
+    ON service_listings (created_at DESC, id DESC)
+    WHERE approved = true;
+
+-- Double-booking guard: no two live bookings of one provider may overlap.
+-- The check in BookingServiceImpl is only a fast path; under READ COMMITTED two
+-- concurrent requests can both pass it, this constraint decides the race.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS time_range tstzrange
+        GENERATED ALWAYS AS (tstzrange(start_time, end_time, '[)')) STORED;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'bookings_no_overlap') THEN
+        ALTER TABLE bookings
+            ADD CONSTRAINT bookings_no_overlap
+            EXCLUDE USING gist (provider_id WITH =, time_range WITH &&)
+            WHERE (status <> 'CANCELLED');
+    END IF;
+EXCEPTION
+    -- Legacy double bookings: start up anyway, the constraint is added once they are resolved
+    WHEN exclusion_violation THEN
+        RAISE WARNING 'bookings_no_overlap not added: existing bookings overlap';
+END
+$$;
+
+-- Free-slot search (ServiceListingRepository.findAvailableListingIds): per-provider
+-- availability ranges overlapping the requested window. Bookings use the GiST
+-- index behind bookings_no_overlap.
+CREATE INDEX IF NOT EXISTS idx_calendar_availability_provider_range
+    ON calendar_availability USING gist (provider_id, tstzrange(start_time, end_time, '[)'));
+
+-- Entity ids moved from IDENTITY columns to pooled-lo sequences named <table>_seq.
+-- Keep each sequence ahead of rows written under the old identity column; never move it back.
+-- ALTER SEQUENCE ... INCREMENT BY n changes the allocation size: Hibernate adopts
+-- the database increment (hibernate.id.sequence.increment_size_mismatch_strategy=fix).
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY[
+        'users', 'provider_details', 'service_listings', 'listing_images', 'bookings',
+        'reviews', 'calendar_availability', 'availability_rules', 'notifications'
+    ] LOOP
+        EXECUTE format(
+            'SELECT setval(%L, GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM %I),
+                                        (SELECT COALESCE(last_value, 0) + increment_by
+                                         FROM pg_sequences
+                                         WHERE schemaname = current_schema() AND sequencename = %L)),
+                           false)',
+            t || '_seq', t, t || '_seq');
+    END LOOP;
+END
+$$;
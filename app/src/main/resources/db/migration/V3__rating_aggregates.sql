@@ -0,0 +1,30 @@
+-- Rating aggregates maintained on review submission (see RatingAggregateServiceImpl).
+-- Averages are derived from the sums, so a reconcile never accumulates rounding error.
+
+ALTER TABLE service_listings
+    ADD COLUMN IF NOT EXISTS rating_sum bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS provider_ratings (
+    provider_id  bigint NOT NULL PRIMARY KEY REFERENCES users,
+    rating_count bigint NOT NULL DEFAULT 0,
+    rating_sum   bigint NOT NULL DEFAULT 0
+);
+
+-- Backfill from the reviews written so far
+UPDATE service_listings s
+SET rating_count = r.cnt,
+    rating_sum   = r.total,
+    avg_rating   = round(CAST(r.total AS numeric) / r.cnt, 1)
+FROM (
+    SELECT b.service_listing_id, count(*) AS cnt, sum(rv.stars) AS total
+    FROM reviews rv
+    JOIN bookings b ON b.id = rv.booking_id
+    GROUP BY b.service_listing_id
+) r
+WHERE r.service_listing_id = s.id;
+
+INSERT INTO provider_ratings (provider_id, rating_count, rating_sum)
+SELECT provider_id, count(*), sum(stars)
+FROM reviews
+GROUP BY provider_id
+ON CONFLICT (provider_id) DO NOTHING;
@@ -0,0 +1,6 @@
+-- Public provider reviews, newest first (keyset: created_at DESC, id DESC).
+-- Its leading column also serves every provider_id lookup, so the plain index goes.
+CREATE INDEX IF NOT EXISTS idx_reviews_provider_created
+    ON reviews (provider_id, created_at DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_reviews_provider;
@@ -0,0 +1,46 @@
+-- Per-star review counts next to the rating totals from V3, maintained on
+-- review submission (see RatingAggregateServiceImpl).
+
+ALTER TABLE service_listings
+    ADD COLUMN IF NOT EXISTS stars_1 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_2 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_3 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_4 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_5 bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE provider_ratings
+    ADD COLUMN IF NOT EXISTS stars_1 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_2 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_3 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_4 bigint NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS stars_5 bigint NOT NULL DEFAULT 0;
+
+-- Backfill from the reviews written so far
+UPDATE service_listings s
+SET stars_1 = r.s1, stars_2 = r.s2, stars_3 = r.s3, stars_4 = r.s4, stars_5 = r.s5
+FROM (
+    SELECT b.service_listing_id,
+           count(*) FILTER (WHERE rv.stars = 1) AS s1,
+           count(*) FILTER (WHERE rv.stars = 2) AS s2,
+           count(*) FILTER (WHERE rv.stars = 3) AS s3,
+           count(*) FILTER (WHERE rv.stars = 4) AS s4,
+           count(*) FILTER (WHERE rv.stars = 5) AS s5
+    FROM reviews rv
+    JOIN bookings b ON b.id = rv.booking_id
+    GROUP BY b.service_listing_id
+) r
+WHERE r.service_listing_id = s.id;
+
+UPDATE provider_ratings p
+SET stars_1 = r.s1, stars_2 = r.s2, stars_3 = r.s3, stars_4 = r.s4, stars_5 = r.s5
+FROM (
+    SELECT provider_id,
+           count(*) FILTER (WHERE stars = 1) AS s1,
+           count(*) FILTER (WHERE stars = 2) AS s2,
+           count(*) FILTER (WHERE stars = 3) AS s3,
+           count(*) FILTER (WHERE stars = 4) AS s4,
+           count(*) FILTER (WHERE stars = 5) AS s5
+    FROM reviews
+    GROUP BY provider_id
+) r
+WHERE r.provider_id = p.provider_id;
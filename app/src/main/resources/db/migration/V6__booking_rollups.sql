@@ -0,0 +1,42 @@
+-- Booking facts for the admin dashboard, maintained on booking creation and status
+-- changes (see BookingRollupServiceImpl) so the dashboard never aggregates bookings.
+--
+-- booking_daily_rollups: bookings and revenue per creation day (UTC), category and
+-- current status. Listings without a category are counted under 'UNCATEGORIZED'.
+-- listing_booking_totals: all-time bookings and revenue per listing, for the ranking.
+-- Revenue is the listing price at the time the booking was made.
+
+CREATE TABLE IF NOT EXISTS booking_daily_rollups (
+    day      date           NOT NULL,
+    category varchar(255)   NOT NULL,
+    status   varchar(255)   NOT NULL,
+    bookings bigint         NOT NULL DEFAULT 0,
+    revenue  numeric(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, category, status)
+);
+
+CREATE TABLE IF NOT EXISTS listing_booking_totals (
+    service_listing_id bigint         NOT NULL PRIMARY KEY REFERENCES service_listings,
+    bookings           bigint         NOT NULL DEFAULT 0,
+    revenue            numeric(14, 2) NOT NULL DEFAULT 0
+);
+
+-- Top services: the first rows of this index
+CREATE INDEX IF NOT EXISTS idx_listing_booking_totals_bookings
+    ON listing_booking_totals (bookings DESC, service_listing_id);
+
+-- Backfill from the bookings made so far
+INSERT INTO booking_daily_rollups (day, category, status, bookings, revenue)
+SELECT CAST(COALESCE(b.created_at, b.start_time) AT TIME ZONE 'UTC' AS date), COALESCE(s.category, 'UNCATEGORIZED'), b.status,
+       count(*), sum(s.price)
+FROM bookings b
+JOIN service_listings s ON s.id = b.service_listing_id
+GROUP BY 1, 2, 3
+ON CONFLICT DO NOTHING;
+
+INSERT INTO listing_booking_totals (service_listing_id, bookings, revenue)
+SELECT s.id, count(*), sum(s.price)
+FROM bookings b
+JOIN service_listings s ON s.id = b.service_listing_id
+GROUP BY s.id
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,13 @@
+-- Admin user directory (see AdminServiceImpl.getUserDirectory): sort by name or
+-- email and prefix search over both, without reading the whole users table.
+
+-- ORDER BY username, id (email already has its unique index)
+CREATE INDEX IF NOT EXISTS idx_users_username
+    ON users (username, id);
+
+-- LOWER(column) LIKE 'prefix%' under any database collation
+CREATE INDEX IF NOT EXISTS idx_users_username_prefix
+    ON users (lower(username) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix
+    ON users (lower(email) text_pattern_ops);
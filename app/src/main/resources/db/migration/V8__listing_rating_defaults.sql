@@ -0,0 +1,11 @@
+-- Listing rating totals are no longer written by Hibernate (see ServiceListing), so new
+-- listings take their starting values from the column defaults.
+
+UPDATE service_listings
+SET avg_rating   = COALESCE(avg_rating, 0),
+    rating_count = COALESCE(rating_count, 0)
+WHERE avg_rating IS NULL OR rating_count IS NULL;
+
+ALTER TABLE service_listings
+    ALTER COLUMN avg_rating SET DEFAULT 0,
+    ALTER COLUMN rating_count SET DEFAULT 0;
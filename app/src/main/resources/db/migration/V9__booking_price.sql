@@ -0,0 +1,16 @@
+-- Price of each booking, fixed when it is made (see BookingServiceImpl). Booking lists
+-- and the dashboard rollups from V6 count revenue at this price, so later listing price
+-- changes leave past bookings as they were.
+
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS price numeric(10, 2);
+
+-- Bookings made so far: the listing's current price, the best record there is
+UPDATE bookings b
+SET price = s.price
+FROM service_listings s
+WHERE s.id = b.service_listing_id
+  AND b.price IS NULL;
+
+ALTER TABLE bookings
+    ALTER COLUMN price SET NOT NULL;
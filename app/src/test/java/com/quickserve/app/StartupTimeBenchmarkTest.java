@@ -0,0 +1,96 @@
+package com.quickserve.app;
+
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Application startup time on a database of its own: the first start, which runs
+ * every Flyway migration, then alternating restarts with the old {@code ddl-auto=update},
+ * with {@code ddl-auto=validate} alone, and with validate plus Flyway finding nothing
+ * pending (the shipped configuration). Prints the medians after one warm-up each.
+ */
+@Tag("benchmark")
+class StartupTimeBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final String DATABASE = "quickserve_startup";
+    private static final int RESTARTS = Integer.getInteger("benchmark.startup.restarts", 5);
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Test
+    void startupTimes() {
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + DATABASE);
+        jdbcTemplate.execute("CREATE DATABASE " + DATABASE);
+        try {
+            long migrate = start("validate", true);
+            start("update", false);
+            start("validate", false);
+            start("validate", true);
+
+            long[] update = new long[RESTARTS];
+            long[] validate = new long[RESTARTS];
+            long[] flyway = new long[RESTARTS];
+            for (int i = 0; i < RESTARTS; i++) {
+                update[i] = start("update", false);
+                validate[i] = start("validate", false);
+                flyway[i] = start("validate", true);
+            }
+
+            long updateMedian = median(update);
+            long validateMedian = median(validate);
+            System.out.printf("startup: first start with migrations %d ms; restarts (medians of %d): "
+                            + "update %d ms, validate %d ms, validate + Flyway %d ms%n",
+                    migrate, RESTARTS, updateMedian, validateMedian, median(flyway));
+            // Generous margin: all three are dominated by context refresh, which varies run to run
+            assertTrue(validateMedian <= updateMedian * 1.2,
+                    "validate " + validateMedian + " ms, update " + updateMedian + " ms");
+        } finally {
+            jdbcTemplate.execute("DROP DATABASE IF EXISTS " + DATABASE + " WITH (FORCE)");
+        }
+    }
+
+    // Starts the application on the benchmark database and returns the milliseconds it took
+    private long start(String ddlAuto, boolean flyway) {
+        // Command-line arguments, so they win over application.properties
+        List<String> arguments = Stream.of(
+                "spring.datasource.url=" + url.replaceFirst("/postgres(?=\\?|$)", "/" + DATABASE),
+                "spring.datasource.username=postgres",
+                "spring.datasource.password=",
+                "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                "spring.flyway.enabled=" + flyway,
+                "spring.jpa.show-sql=false",
+                "server.port=0",
+                "jwt.secret=cG9zdGdyZXMtaW50ZWdyYXRpb24tdGVzdHMtc2lnbmluZy1rZXktbm90LXVzZWQtYnktYW55LXByb2R1Y3Rpb24tcmVxdWVzdA==",
+                "jwt.expiration=3600000",
+                "cloudinary.cloud-name=test",
+                "cloudinary.api-key=test",
+                "cloudinary.api-secret=test",
+                "rating.reconcile.cron=-",
+                "booking.rollup.reconcile.cron=-",
+                "user.totals.reconcile.cron=-"
+        ).map(property -> "--" + property).toList();
+        long began = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = new SpringApplicationBuilder(AppApplication.class)
+                .logStartupInfo(false)
+                .run(arguments.toArray(String[]::new))) {
+            return (System.nanoTime() - began) / 1_000_000;
+        }
+    }
+
+    private static long median(long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,58 @@
+package com.quickserve.app.controller;
+
+import com.quickserve.app.repository.specification.Keyset;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/admin/users stops at one keyset page, newest users first, and links
+ * the rest instead of dropping them silently.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class AdminUsersPagingTest extends PostgresIntegrationTest {
+
+    private static final Pattern NEXT = Pattern.compile("<([^>]+)>; rel=\"next\"");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unpagedListLinksTheRest() throws Exception {
+        for (int i = 0; i <= Keyset.MAX_PAGE_SIZE; i++) {
+            insertUser("user" + i, "CUSTOMER");
+        }
+
+        MvcResult first = mockMvc.perform(get("/api/admin/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(Keyset.MAX_PAGE_SIZE))
+                .andExpect(jsonPath("$[0].name").value("user" + Keyset.MAX_PAGE_SIZE))
+                .andExpect(jsonPath("$[" + (Keyset.MAX_PAGE_SIZE - 1) + "].name").value("user1"))
+                .andReturn();
+
+        Matcher next = NEXT.matcher(first.getResponse().getHeader(HttpHeaders.LINK));
+        assertTrue(next.matches(), first.getResponse().getHeader(HttpHeaders.LINK));
+        assertTrue(next.group(1).contains("size=" + Keyset.MAX_PAGE_SIZE), next.group(1));
+
+        mockMvc.perform(get(next.group(1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("user0"))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+}
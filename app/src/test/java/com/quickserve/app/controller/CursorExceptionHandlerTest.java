@@ -0,0 +1,36 @@
+package com.quickserve.app.controller;
+
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Malformed keyset cursors are a client error, on a public endpoint as anywhere else.
+ */
+@AutoConfigureMockMvc
+class CursorExceptionHandlerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void malformedCursorIsBadRequest() throws Exception {
+        long providerId = insertUser("provider", "PROVIDER");
+
+        mockMvc.perform(get("/api/public/reviews/provider/{id}", providerId)
+                        .param("size", "20")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Invalid cursor"));
+
+        mockMvc.perform(get("/api/public/reviews/provider/{id}", providerId)
+                        .param("size", "20"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,45 @@
+package com.quickserve.app.controller;
+
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON catalog export is public: reachable without a token, through the
+ * security filter chain.
+ */
+@AutoConfigureMockMvc
+class PublicListingStreamTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void anonymousCallersStreamTheCatalog() throws Exception {
+        long providerId = insertUser("provider", "PROVIDER");
+        insertListing(providerId, "CLEANING", new BigDecimal("300.00"));
+        insertListing(providerId, "PLUMBING", new BigDecimal("450.00"));
+
+        MvcResult started = mockMvc.perform(get("/api/listings/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(2, body.lines().filter(line -> line.startsWith("{")).count(), body);
+    }
+}
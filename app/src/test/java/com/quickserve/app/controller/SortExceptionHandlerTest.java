@@ -0,0 +1,36 @@
+package com.quickserve.app.controller;
+
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sorting by a key the endpoint does not expose is a client error.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class SortExceptionHandlerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void unknownDirectorySortIsBadRequest() throws Exception {
+        insertUser("alice", "CUSTOMER");
+
+        mockMvc.perform(get("/api/admin/users/directory").param("sort", "password,asc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Users can only be sorted by [email, id, name]"));
+
+        mockMvc.perform(get("/api/admin/users/directory").param("sort", "email,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("alice"));
+    }
+}
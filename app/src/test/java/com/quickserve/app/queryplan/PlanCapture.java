@@ -0,0 +1,138 @@
+package com.quickserve.app.queryplan;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wraps a {@link DataSource} so that, while {@link #during} runs on the calling thread,
+ * every prepared query or update is first executed as {@code EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON)}
+ * with the same bound parameters. The statement itself then runs as usual.
+ * <p>
+ * Working at the JDBC level captures exactly the SQL Hibernate generates for JPQL,
+ * native and count queries, with real parameter values.
+ */
+final class PlanCapture {
+
+    record Captured(String sql, String planJson) {
+    }
+
+    private static final ThreadLocal<List<Captured>> CAPTURED = new ThreadLocal<>();
+
+    private PlanCapture() {
+    }
+
+    /**
+     * Runs {@code action} and returns the plans of the queries it issued, in order.
+     */
+    static List<Captured> during(Runnable action) {
+        List<Captured> plans = new ArrayList<>();
+        CAPTURED.set(plans);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return plans;
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            return result instanceof Connection connection
+                    ? proxy(Connection.class, connection, connectionHandler(connection))
+                    : result;
+        });
+    }
+
+    private static Handler connectionHandler(Connection connection) {
+        return (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement,
+                        new StatementHandler(connection, (String) args[0]));
+            }
+            return result;
+        };
+    }
+
+    // Records parameter bindings so they can be replayed onto the EXPLAIN statement
+    private static final class StatementHandler implements Handler {
+
+        private final Connection connection;
+        private final String sql;
+        private final List<Object[]> bindings = new ArrayList<>();
+        private final List<Method> setters = new ArrayList<>();
+
+        StatementHandler(Connection connection, String sql) {
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object handle(Object target, Method method, Object[] args) throws Exception {
+            if (isParameterSetter(method)) {
+                setters.add(method);
+                bindings.add(args);
+            } else if (method.getName().equals("clearParameters")) {
+                setters.clear();
+                bindings.clear();
+            } else if (isExecute(method)) {
+                List<Captured> plans = CAPTURED.get();
+                if (plans != null) {
+                    plans.add(new Captured(sql, explain()));
+                }
+            }
+            return method.invoke(target, args);
+        }
+
+        private String explain() throws SQLException, ReflectiveOperationException {
+            try (PreparedStatement explain =
+                         connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+                for (int i = 0; i < setters.size(); i++) {
+                    setters.get(i).invoke(explain, bindings.get(i));
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        }
+
+        private static boolean isExecute(Method method) {
+            return method.getParameterCount() == 0
+                    && (method.getName().equals("executeQuery") || method.getName().equals("executeUpdate"));
+        }
+
+        // setString(int, ...), setObject(int, ...), setNull(int, ...) and friends
+        private static boolean isParameterSetter(Method method) {
+            return method.getName().startsWith("set")
+                    && method.getParameterCount() >= 2
+                    && method.getParameterTypes()[0] == int.class;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler invocation = (proxy, method, args) -> {
+            try {
+                return handler.handle(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(PlanCapture.class.getClassLoader(), new Class<?>[]{type}, invocation));
+    }
+}
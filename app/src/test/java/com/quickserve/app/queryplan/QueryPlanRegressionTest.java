@@ -0,0 +1,422 @@
+package com.quickserve.app.queryplan;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quickserve.app.model.BookingStatus;
+import com.quickserve.app.repository.BookingRepository;
+import com.quickserve.app.repository.BookingRollupRepository;
+import com.quickserve.app.repository.CalendarAvailabilityRepository;
+import com.quickserve.app.repository.ListingBookingTotalRepository;
+import com.quickserve.app.repository.ProviderRatingRepository;
+import com.quickserve.app.repository.ReviewRepository;
+import com.quickserve.app.repository.ServiceListingRepository;
+import com.quickserve.app.repository.UserRepository;
+import com.quickserve.app.repository.UserRoleTotalRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Query-plan regression suite for the hand-written queries.
+ * <p>
+ * Boots the application against an embedded Postgres migrated by Flyway, seeds it
+ * ({@code query-plans/seed.sql}), then calls every {@code @Query} method of the
+ * repositories below and captures {@code EXPLAIN (ANALYZE, FORMAT JSON)} of each
+ * statement it issues (see {@link PlanCapture}). A query fails when it
+ * <ul>
+ *   <li>sequentially scans a large table, unless listed in {@link #SEQ_SCAN_ALLOWED}, or</li>
+ *   <li>its estimated total cost exceeds the stored baseline by more than the tolerance.</li>
+ * </ul>
+ * Plans and costs of the last run are written to {@code target/query-plans/}. After an
+ * intended plan change, refresh the baseline with {@code -Dquery-plan.update-baseline=true}
+ * and commit {@code src/test/resources/query-plans/baseline.properties}.
+ * <p>
+ * Postgres refuses to run as root; skip the suite there with {@code -DexcludedGroups=query-plan}.
+ */
+@Tag("query-plan")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=INFO",
+        "jwt.secret=cXVlcnktcGxhbi1yZWdyZXNzaW9uLXN1aXRlLXNpZ25pbmcta2V5LW5vdC11c2VkLWJ5LWFueS10ZXN0LXJlcXVlc3Q=",
+        "jwt.expiration=3600000",
+        "cloudinary.cloud-name=test",
+        "cloudinary.api-key=test",
+        "cloudinary.api-secret=test"
+})
+class QueryPlanRegressionTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            ServiceListingRepository.class,
+            BookingRepository.class,
+            CalendarAvailabilityRepository.class,
+            ReviewRepository.class,
+            ProviderRatingRepository.class,
+            BookingRollupRepository.class,
+            ListingBookingTotalRepository.class,
+            UserRepository.class,
+            UserRoleTotalRepository.class
+    );
+
+    // Tables that are never small in production
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "service_listings", "bookings", "calendar_availability", "reviews",
+            "users", "listing_images", "notifications", "listing_booking_totals"
+    );
+
+    // Queries that read a whole table by design; everything else must use an index
+    private static final Map<String, Set<String>> SEQ_SCAN_ALLOWED = Map.ofEntries(
+            // Admin analytics over every listing / booking
+            Map.entry("ServiceListingRepository.getServicePerformance", Set.of("bookings", "service_listings")),
+            // Nightly recount of the dashboard rollups
+            Map.entry("BookingRollupRepository.reconcile", Set.of("bookings", "service_listings")),
+            Map.entry("ListingBookingTotalRepository.reconcile", Set.of("bookings", "listing_booking_totals")),
+            // Nightly recount of the rating totals
+            Map.entry("ServiceListingRepository.reconcileRatings", Set.of("service_listings", "bookings", "reviews")),
+            Map.entry("ProviderRatingRepository.reconcile", Set.of("reviews")),
+            // Nightly recount of the per-role user totals
+            Map.entry("UserRoleTotalRepository.reconcile", Set.of("users")),
+            // Unordered page plus total count of all active listings
+            Map.entry("ServiceListingRepository.findActiveSummaries", Set.of("service_listings")),
+            // Full exports, read front to back
+            Map.entry("ServiceListingRepository.streamApprovedSummaries", Set.of("service_listings", "users", "listing_images")),
+            Map.entry("ServiceListingRepository.streamSuggestSource", Set.of("service_listings")),
+            // Total count of the unfiltered user directory
+            Map.entry("UserRepository.findDirectoryIds", Set.of("users"))
+    );
+
+    private static final Path BASELINE = Path.of("src/test/resources/query-plans/baseline.properties");
+    private static final Path REPORT_DIR = Path.of("target/query-plans");
+    private static final double TOLERANCE =
+            Double.parseDouble(System.getProperty("query-plan.tolerance", "1.5"));
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("query-plan.update-baseline");
+
+    private static final OffsetDateTime WINDOW_START = OffsetDateTime.of(2025, 1, 20, 10, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime WINDOW_END = WINDOW_START.plusHours(1);
+    private static final long PROVIDER_ID = 42L;
+    private static final long CUSTOMER_ID = 2500L;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ServiceListingRepository serviceListingRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CalendarAvailabilityRepository calendarAvailabilityRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProviderRatingRepository providerRatingRepository;
+
+    @Autowired
+    private BookingRollupRepository bookingRollupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ListingBookingTotalRepository listingBookingTotalRepository;
+
+    @Autowired
+    private UserRoleTotalRepository userRoleTotalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Properties baseline = new Properties();
+    private final Map<String, Double> actualCosts = new TreeMap<>();
+
+    @TestConfiguration
+    static class CaptureConfig {
+
+        @Bean
+        static BeanPostProcessor planCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? PlanCapture.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.start();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeAll
+    void seed() throws IOException {
+        jdbcTemplate.execute(new ClassPathResource("query-plans/seed.sql").getContentAsString(StandardCharsets.UTF_8));
+        // Fresh statistics and no dead rows from the seed's own updates. The second pass
+        // marks the pages the first one left not all-visible, so index-only scan costs
+        // do not depend on when autovacuum last ran.
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        jdbcTemplate.execute("VACUUM");
+        if (Files.exists(BASELINE)) {
+            try (InputStream in = Files.newInputStream(BASELINE)) {
+                baseline.load(in);
+            }
+        }
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        writeCosts(REPORT_DIR.resolve("baseline.properties"));
+        if (UPDATE_BASELINE) {
+            writeCosts(BASELINE);
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    // A new @Query must come with a sample call below, so it cannot skip the suite
+    @Test
+    void everyQueryMethodHasASampleCall() {
+        Set<String> sampled = sampleCalls().keySet();
+        List<String> missing = REPOSITORIES.stream()
+                .flatMap(repository -> Arrays.stream(repository.getDeclaredMethods())
+                        .filter(method -> method.isAnnotationPresent(Query.class))
+                        .map(method -> repository.getSimpleName() + "." + method.getName()))
+                .filter(name -> !sampled.contains(name))
+                .toList();
+        assertTrue(missing.isEmpty(), "No sample call in QueryPlanRegressionTest for " + missing);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queryPlans() {
+        return sampleCalls().entrySet().stream()
+                .map(sample -> DynamicTest.dynamicTest(sample.getKey(), () -> check(sample.getKey(), sample.getValue())));
+    }
+
+    private void check(String query, Runnable call) throws IOException {
+        // Rolled back, since EXPLAIN ANALYZE of an update applies it
+        List<PlanCapture.Captured> plans = PlanCapture.during(() -> transactionTemplate.executeWithoutResult(status -> {
+            call.run();
+            status.setRollbackOnly();
+        }));
+        assertFalse(plans.isEmpty(), query + " issued no query");
+
+        List<String> problems = new ArrayList<>();
+        for (int i = 0; i < plans.size(); i++) {
+            // [0] is the query itself, [1] the count query of a Page
+            String key = query + "[" + i + "]";
+            JsonNode explain = objectMapper.readTree(plans.get(i).planJson()).get(0);
+            JsonNode plan = explain.get("Plan");
+
+            Files.createDirectories(REPORT_DIR);
+            Files.writeString(REPORT_DIR.resolve(key + ".json"),
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(explain));
+
+            Set<String> allowed = SEQ_SCAN_ALLOWED.getOrDefault(query, Set.of());
+            for (String table : seqScannedTables(plan)) {
+                if (LARGE_TABLES.contains(table) && !allowed.contains(table)) {
+                    problems.add(key + ": Seq Scan on " + table + "\n  " + plans.get(i).sql());
+                }
+            }
+
+            double cost = plan.get("Total Cost").asDouble();
+            actualCosts.put(key, cost);
+            String expected = baseline.getProperty(key);
+            if (expected != null && cost > Double.parseDouble(expected) * TOLERANCE) {
+                problems.add(String.format("%s: cost %.2f vs baseline %s (execution %.2f ms)",
+                        key, cost, expected, explain.get("Execution Time").asDouble()));
+            }
+        }
+        if (!problems.isEmpty()) {
+            fail(String.join("\n", problems));
+        }
+    }
+
+    private static List<String> seqScannedTables(JsonNode plan) {
+        List<String> tables = new ArrayList<>();
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            tables.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            tables.addAll(seqScannedTables(child));
+        }
+        return tables;
+    }
+
+    // Representative arguments against the seeded data: a busy provider, a repeat
+    // customer and a one-hour window inside the seeded calendar
+    private Map<String, Runnable> sampleCalls() {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+
+        calls.put("ServiceListingRepository.findProviderIdById",
+                () -> serviceListingRepository.findProviderIdById(1234L));
+        calls.put("ServiceListingRepository.getServicePerformance",
+                () -> serviceListingRepository.getServicePerformance());
+        calls.put("ServiceListingRepository.addReview",
+                () -> serviceListingRepository.addReview(1234L, 4));
+        calls.put("ServiceListingRepository.reconcileRatings",
+                () -> serviceListingRepository.reconcileRatings());
+        calls.put("ServiceListingRepository.searchActiveListingIds",
+                () -> serviceListingRepository.searchActiveListingIds("clean:* & pune:*", PageRequest.of(0, 20)));
+        calls.put("ServiceListingRepository.findAvailableListingIds",
+                () -> serviceListingRepository.findAvailableListingIds(
+                        "CLEANING", "Pune", WINDOW_START, WINDOW_END, PageRequest.of(0, 20)));
+        calls.put("ServiceListingRepository.findApprovedSummaries",
+                () -> serviceListingRepository.findApprovedSummaries(PageRequest.of(0, 21)));
+        calls.put("ServiceListingRepository.findApprovedSummariesBefore",
+                () -> serviceListingRepository.findApprovedSummariesBefore(
+                        LocalDateTime.of(2024, 3, 1, 0, 0), 10_000L, PageRequest.of(0, 21)));
+        calls.put("ServiceListingRepository.streamApprovedSummaries",
+                () -> {
+                    try (var rows = serviceListingRepository.streamApprovedSummaries()) {
+                        rows.limit(100).count();
+                    }
+                });
+        calls.put("ServiceListingRepository.findActiveSummaries",
+                () -> serviceListingRepository.findActiveSummaries(PageRequest.of(3, 20)));
+        calls.put("ServiceListingRepository.findSummariesByIdIn",
+                () -> serviceListingRepository.findSummariesByIdIn(List.of(11L, 222L, 3333L, 14444L)));
+        calls.put("ServiceListingRepository.streamSuggestSource",
+                () -> {
+                    try (var rows = serviceListingRepository.streamSuggestSource()) {
+                        rows.limit(100).count();
+                    }
+                });
+
+        calls.put("BookingRepository.findOverlappingBookings",
+                () -> bookingRepository.findOverlappingBookings(
+                        PROVIDER_ID, WINDOW_START, WINDOW_END, BookingStatus.CANCELLED));
+
+        calls.put("CalendarAvailabilityRepository.findOverlappingAvailability",
+                () -> calendarAvailabilityRepository.findOverlappingAvailability(PROVIDER_ID, WINDOW_START, WINDOW_END));
+        calls.put("CalendarAvailabilityRepository.findTouchingAvailability",
+                () -> calendarAvailabilityRepository.findTouchingAvailability(
+                        PROVIDER_ID, WINDOW_START.minusDays(7), WINDOW_START.plusDays(7)));
+
+        calls.put("ReviewRepository.findAllResponsesByProviderId",
+                () -> reviewRepository.findAllResponsesByProviderId(PROVIDER_ID));
+        calls.put("ReviewRepository.findResponsesByProviderId",
+                () -> reviewRepository.findResponsesByProviderId(PROVIDER_ID, PageRequest.of(0, 21)));
+        calls.put("ReviewRepository.findResponsesByProviderIdBefore",
+                () -> reviewRepository.findResponsesByProviderIdBefore(
+                        PROVIDER_ID, LocalDateTime.of(2025, 4, 1, 0, 0), 60_000L, PageRequest.of(0, 21)));
+
+        calls.put("ProviderRatingRepository.addReview",
+                () -> providerRatingRepository.addReview(PROVIDER_ID, 5));
+        calls.put("ProviderRatingRepository.reconcile",
+                () -> providerRatingRepository.reconcile());
+        calls.put("ProviderRatingRepository.sumHistograms",
+                () -> providerRatingRepository.sumHistograms());
+
+        // Reads before writes: rolled-back upserts leave dead tuples in these small tables
+        calls.put("BookingRollupRepository.sumBookings",
+                () -> bookingRollupRepository.sumBookings());
+        calls.put("BookingRollupRepository.sumBookingsByStatusIn",
+                () -> bookingRollupRepository.sumBookingsByStatusIn(
+                        List.of(BookingStatus.PENDING, BookingStatus.CONFIRMED)));
+        calls.put("BookingRollupRepository.sumRevenueByStatusIn",
+                () -> bookingRollupRepository.sumRevenueByStatusIn(
+                        List.of(BookingStatus.CONFIRMED, BookingStatus.COMPLETED)));
+        calls.put("BookingRollupRepository.getMonthlyTrend",
+                () -> bookingRollupRepository.getMonthlyTrend());
+        calls.put("BookingRollupRepository.getCategoryShare",
+                () -> bookingRollupRepository.getCategoryShare());
+        calls.put("BookingRollupRepository.add",
+                () -> bookingRollupRepository.add(123_456L, BookingStatus.CONFIRMED.name(), 1));
+        calls.put("BookingRollupRepository.reconcile",
+                () -> bookingRollupRepository.reconcile());
+
+        calls.put("ListingBookingTotalRepository.findTop",
+                () -> listingBookingTotalRepository.findTop(PageRequest.of(0, 7)));
+        calls.put("ListingBookingTotalRepository.addBooking",
+                () -> listingBookingTotalRepository.addBooking(1234L));
+        calls.put("ListingBookingTotalRepository.reconcile",
+                () -> listingBookingTotalRepository.reconcile());
+
+        calls.put("UserRepository.findDirectoryIds",
+                () -> userRepository.findDirectoryIds(
+                        PageRequest.of(40, 20, Sort.by("username").and(Sort.by("id")))));
+        calls.put("UserRepository.searchDirectoryIds",
+                () -> userRepository.searchDirectoryIds("user25%",
+                        PageRequest.of(0, 20, Sort.by("email").and(Sort.by("id")))));
+        calls.put("UserRepository.findIdsBefore",
+                () -> userRepository.findIdsBefore(15_000L, PageRequest.of(0, 51)));
+        calls.put("UserRepository.findAdminViewsByIdIn",
+                () -> userRepository.findAdminViewsByIdIn(
+                        LongStream.rangeClosed(CUSTOMER_ID, CUSTOMER_ID + 49).boxed().toList()));
+
+        calls.put("UserRoleTotalRepository.addUser",
+                () -> userRoleTotalRepository.addUser("CUSTOMER"));
+        calls.put("UserRoleTotalRepository.reconcile",
+                () -> userRoleTotalRepository.reconcile());
+
+        return calls;
+    }
+
+    // Sorted, so baseline diffs stay readable
+    private void writeCosts(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Estimated total cost per query, written by QueryPlanRegressionTest");
+        actualCosts.forEach((key, cost) -> lines.add(key + "=" + String.format(Locale.ROOT, "%.2f", cost)));
+        Files.write(file, lines);
+    }
+
+    @Test
+    void seedIsLoaded() {
+        assertEquals(400_000L, bookingRepository.count());
+    }
+}
@@ -0,0 +1,105 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.AdminDashboardResponse;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link AdminService#getDashboard()} with a section stuck behind a lock: the
+ * section times out and is reported degraded, its query is cancelled, and concurrent
+ * callers share a single load.
+ */
+@TestPropertySource(properties = "admin.dashboard.section-timeout=PT1S")
+class AdminDashboardIntegrationTest extends PostgresIntegrationTest {
+
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void lockedSectionsDegradeAndConcurrentCallersShareOneLoad() throws Exception {
+        long loadsBefore = sectionLoads();
+
+        List<AdminDashboardResponse> dashboards = new ArrayList<>();
+        // Blocks every read of the daily rollups until rolled back
+        try (Connection locker = dataSource.getConnection(); Statement statement = locker.createStatement()) {
+            locker.setAutoCommit(false);
+            statement.execute("LOCK TABLE booking_daily_rollups IN ACCESS EXCLUSIVE MODE");
+
+            ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<AdminDashboardResponse>> calls = new ArrayList<>();
+                for (int i = 0; i < CALLERS; i++) {
+                    calls.add(pool.submit(() -> {
+                        start.await();
+                        return adminService.getDashboard();
+                    }));
+                }
+                start.countDown();
+                for (Future<AdminDashboardResponse> call : calls) {
+                    dashboards.add(call.get(30, TimeUnit.SECONDS));
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            // The statement timeout cancels the blocked queries while the lock is still held
+            assertTrue(waitForNoLockWaits(), "dashboard queries still waiting on the lock");
+            locker.rollback();
+        }
+
+        AdminDashboardResponse degraded = dashboards.get(0);
+        assertEquals(Set.of("stats", "revenueTrend", "categoryShare"), Set.copyOf(degraded.degradedSections()));
+        dashboards.forEach(dashboard -> assertSame(degraded, dashboard));
+        assertEquals(1, sectionLoads() - loadsBefore);
+
+        // Not cached: the next load retries and its complete result is kept
+        AdminDashboardResponse complete = adminService.getDashboard();
+        assertTrue(complete.degradedSections().isEmpty(), complete.degradedSections().toString());
+        assertSame(complete, adminService.getDashboard());
+    }
+
+    // Completed loads of the topServices section, which the lock does not touch
+    private long sectionLoads() {
+        return meterRegistry.timer("admin.dashboard.section", "section", "topServices").count();
+    }
+
+    private boolean waitForNoLockWaits() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting == 0) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+}
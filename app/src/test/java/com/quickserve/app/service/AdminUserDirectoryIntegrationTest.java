@@ -0,0 +1,88 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.repository.projection.AdminUserView;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import com.quickserve.app.utils.UnsupportedSortException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The admin user directory of {@link AdminService}: sorting, prefix search and
+ * booking counts.
+ */
+class AdminUserDirectoryIntegrationTest extends PostgresIntegrationTest {
+
+    private static final OffsetDateTime TOMORROW = OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS).plusDays(1);
+
+    @Autowired
+    private AdminService adminService;
+
+    @Test
+    void directorySortsByNameEmailOrId() {
+        insertUser("carol", "CUSTOMER");
+        insertUser("alice", "PROVIDER");
+        insertUser("bob", "CUSTOMER");
+
+        assertEquals(List.of("alice", "bob", "carol"), names(directory(null, Sort.by("name"))));
+        assertEquals(List.of("carol", "bob", "alice"), names(directory(null, Sort.by(Sort.Order.desc("email")))));
+        assertEquals(List.of("carol", "alice", "bob"), names(directory(null, Sort.by("id"))));
+        assertThrows(UnsupportedSortException.class, () -> directory(null, Sort.by("password")));
+    }
+
+    // The search is a literal, case-insensitive prefix of the name or email
+    @Test
+    void searchMatchesPrefixesLiterally() {
+        insertUser("user_1", "CUSTOMER");
+        insertUser("userX1", "CUSTOMER");
+        insertUser("user%2", "CUSTOMER");
+        insertUser("user22", "CUSTOMER");
+        insertUser("anna", "CUSTOMER");
+
+        assertEquals(List.of("user_1"), names(directory("user_1", Sort.by("name"))));
+        assertEquals(List.of("user%2"), names(directory("USER%", Sort.by("name"))));
+        assertEquals(List.of("anna"), names(directory("anna@exa", Sort.by("name"))));
+        assertEquals(5, directory("", Sort.by("name")).getTotalElements());
+    }
+
+    @Test
+    void directoryCountsEachUsersBookings() {
+        long providerId = insertUser("provider", "PROVIDER");
+        long listingId = insertListing(providerId, "PLUMBING", new BigDecimal("300.00"));
+        long busy = insertUser("busy", "CUSTOMER");
+        long once = insertUser("once", "CUSTOMER");
+        insertUser("never", "CUSTOMER");
+        for (int hour = 0; hour < 3; hour++) {
+            insertBooking(busy, listingId, hour == 0 ? "CANCELLED" : "CONFIRMED",
+                    TOMORROW.plusHours(hour), TOMORROW.plusHours(hour + 1));
+        }
+        insertBooking(once, listingId, "PENDING", TOMORROW.plusHours(5), TOMORROW.plusHours(6));
+
+        Map<String, Long> bookings = directory(null, Sort.by("name")).getContent().stream()
+                .collect(Collectors.toMap(AdminUserView::getName, AdminUserView::getBookings));
+
+        assertEquals(Map.of("busy", 3L, "once", 1L, "never", 0L, "provider", 0L), bookings);
+    }
+
+    private Page<AdminUserView> directory(String search, Sort sort) {
+        return adminService.getUserDirectory(search, PageRequest.of(0, 20, sort));
+    }
+
+    private static List<String> names(Page<AdminUserView> page) {
+        return page.getContent().stream().map(AdminUserView::getName).toList();
+    }
+}
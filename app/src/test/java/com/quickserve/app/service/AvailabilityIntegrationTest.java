@@ -0,0 +1,130 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.BookingRequest;
+import com.quickserve.app.dto.TimeWindow;
+import com.quickserve.app.model.Booking;
+import com.quickserve.app.model.CalendarAvailability;
+import com.quickserve.app.service.AvailabilityService.SlotStatus;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cached provider calendars of {@link AvailabilityService}: invalidation on booking
+ * status changes, reads outside the cached span, and the bounded slot listing.
+ */
+class AvailabilityIntegrationTest extends PostgresIntegrationTest {
+
+    // 09:00-17:00 UTC availability on a day well inside the cached span
+    private static final OffsetDateTime TOMORROW = OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS).plusDays(1).withHour(9);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private long providerId;
+    private long listingId;
+
+    @BeforeEach
+    void provider() {
+        providerId = insertUser("provider", "PROVIDER");
+        listingId = insertListing(providerId, "PLUMBING", new BigDecimal("300.00"));
+        insertUser("customer", "CUSTOMER");
+    }
+
+    @Test
+    void rejectFreesTheSlot() {
+        insertAvailability(TOMORROW, TOMORROW.plusHours(8));
+        Booking booking = book(TOMORROW.plusHours(1), TOMORROW.plusHours(2));
+        assertEquals(SlotStatus.BOOKED, availabilityService.check(providerId, TOMORROW.plusHours(1), TOMORROW.plusHours(2)));
+
+        bookingService.rejectBookingByEmail(booking.getId(), "provider@example.com");
+
+        assertEquals(SlotStatus.FREE, availabilityService.check(providerId, TOMORROW.plusHours(1), TOMORROW.plusHours(2)));
+    }
+
+    @Test
+    void cancelFreesTheSlot() {
+        insertAvailability(TOMORROW, TOMORROW.plusHours(8));
+        Booking booking = book(TOMORROW.plusHours(3), TOMORROW.plusHours(4));
+        bookingService.acceptBookingByEmail(booking.getId(), "provider@example.com");
+        assertEquals(SlotStatus.BOOKED, availabilityService.check(providerId, TOMORROW.plusHours(3), TOMORROW.plusHours(4)));
+
+        bookingService.cancelBookingByEmail(booking.getId(), "customer@example.com");
+
+        assertEquals(SlotStatus.FREE, availabilityService.check(providerId, TOMORROW.plusHours(3), TOMORROW.plusHours(4)));
+    }
+
+    // Rows beyond the cached span are read when asked about, even with the calendar cached
+    @Test
+    void rangesOutsideTheCachedSpanReadTheDatabase() {
+        insertAvailability(TOMORROW, TOMORROW.plusHours(8));
+        assertEquals(SlotStatus.FREE, availabilityService.check(providerId, TOMORROW, TOMORROW.plusHours(1)));
+
+        OffsetDateTime later = TOMORROW.plusDays(200);
+        insertAvailability(later, later.plusHours(8));
+        insertBooking(nextId("users_seq"), listingId, "CONFIRMED", later.plusHours(1), later.plusHours(2));
+        OffsetDateTime earlier = TOMORROW.minusDays(30);
+        insertAvailability(earlier, earlier.plusHours(8));
+
+        assertEquals(SlotStatus.BOOKED, availabilityService.check(providerId, later.plusHours(1), later.plusHours(2)));
+        assertEquals(SlotStatus.FREE, availabilityService.check(providerId, later.plusHours(3), later.plusHours(4)));
+        assertEquals(SlotStatus.UNAVAILABLE, availabilityService.check(providerId, later.plusHours(8), later.plusHours(9)));
+        assertEquals(SlotStatus.FREE, availabilityService.check(providerId, earlier, earlier.plusHours(1)));
+        assertEquals(
+                List.of(new TimeWindow(later, later.plusHours(1)), new TimeWindow(later.plusHours(2), later.plusHours(8))),
+                availabilityService.freeWindows(providerId, later, later.plusDays(1)));
+    }
+
+    // Without a window the listing runs from now to the horizon (P120D), and no window is longer
+    @Test
+    void storedSlotsAreReadWithinABoundedWindow() {
+        insertAvailability(TOMORROW.minusDays(3), TOMORROW.minusDays(3).plusHours(8));
+        insertAvailability(TOMORROW, TOMORROW.plusHours(8));
+        insertAvailability(TOMORROW.plusDays(200), TOMORROW.plusDays(200).plusHours(8));
+
+        assertEquals(List.of(TOMORROW), starts(availabilityService.getAvailability(providerId, null, null)));
+        assertEquals(List.of(TOMORROW), starts(availabilityService.getAvailability(providerId, null, TOMORROW.plusDays(300))));
+        assertEquals(List.of(TOMORROW.minusDays(3), TOMORROW),
+                starts(availabilityService.getAvailability(providerId, TOMORROW.minusDays(5), null)));
+        assertEquals(List.of(TOMORROW.plusDays(200)),
+                starts(availabilityService.getAvailability(providerId, TOMORROW.plusDays(100), TOMORROW.plusDays(201))));
+        assertThrows(IllegalArgumentException.class,
+                () -> availabilityService.getAvailability(providerId, TOMORROW, TOMORROW));
+    }
+
+    private Booking book(OffsetDateTime start, OffsetDateTime end) {
+        BookingRequest request = new BookingRequest();
+        request.setServiceListingId(listingId);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        return bookingService.createBookingByEmail("customer@example.com", request);
+    }
+
+    private static List<OffsetDateTime> starts(List<CalendarAvailability> slots) {
+        return slots.stream()
+                .map(slot -> slot.getStartTime().withOffsetSameInstant(ZoneOffset.UTC))
+                .sorted()
+                .toList();
+    }
+
+    private void insertAvailability(OffsetDateTime start, OffsetDateTime end) {
+        jdbcTemplate.update("""
+                INSERT INTO calendar_availability (id, provider_id, start_time, end_time, created_at, updated_at)
+                VALUES (?, ?, ?, ?, now(), now())
+                """, nextId("calendar_availability_seq"), providerId, start, end);
+    }
+}
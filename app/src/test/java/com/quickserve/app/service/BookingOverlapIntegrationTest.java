@@ -0,0 +1,142 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.BookingRequest;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Double-booking protection by the {@code bookings_no_overlap} constraint alone: the
+ * per-provider admission lock is switched off, so concurrent requests for one slot
+ * all pass the calendar check and race to the insert.
+ */
+@TestPropertySource(properties = "booking.admission.enabled=false")
+class BookingOverlapIntegrationTest extends PostgresIntegrationTest {
+
+    private static final OffsetDateTime DAY = OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS).plusDays(2);
+    private static final int SLOTS = 20;
+    private static final int REQUESTS_PER_SLOT = 8;
+    private static final String OVERLAP_MIGRATION = "db/migration/V10__require_booking_overlap_constraint.sql";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void concurrentRequestsForOneSlotBookItOnce() throws Exception {
+        long providerId = insertUser("provider", "PROVIDER");
+        long listingId = insertListing(providerId, "ELECTRICAL", new BigDecimal("250.00"));
+        insertAvailability(providerId, DAY, DAY.plusHours(SLOTS));
+        List<String> customers = new ArrayList<>();
+        for (int i = 0; i < REQUESTS_PER_SLOT; i++) {
+            insertUser("customer" + i, "CUSTOMER");
+            customers.add("customer" + i + "@example.com");
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(REQUESTS_PER_SLOT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        try {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                BookingRequest request = new BookingRequest();
+                request.setServiceListingId(listingId);
+                request.setStartTime(DAY.plusHours(slot));
+                request.setEndTime(DAY.plusHours(slot + 1));
+                for (String customer : customers) {
+                    outcomes.add(pool.submit(attempt(start, customer, request)));
+                }
+            }
+            start.countDown();
+
+            long booked = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get(60, TimeUnit.SECONDS)) {
+                    booked++;
+                }
+            }
+            assertEquals(SLOTS, booked);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<Instant, Long> live = jdbcTemplate.queryForList(
+                        "SELECT start_time FROM bookings WHERE status <> 'CANCELLED'", OffsetDateTime.class)
+                .stream()
+                .collect(Collectors.groupingBy(OffsetDateTime::toInstant, Collectors.counting()));
+        assertEquals(SLOTS, live.size());
+        assertTrue(live.values().stream().allMatch(count -> count == 1), "double booking: " + live);
+    }
+
+    // A database whose bookings still overlap must not start without the constraint
+    @Test
+    void overlapMigrationFailsWhileBookingsOverlap() throws IOException {
+        String migration = new ClassPathResource(OVERLAP_MIGRATION).getContentAsString(StandardCharsets.UTF_8);
+        long providerId = insertUser("provider", "PROVIDER");
+        long listingId = insertListing(providerId, "ELECTRICAL", new BigDecimal("250.00"));
+        long customerId = insertUser("customer", "CUSTOMER");
+
+        jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT bookings_no_overlap");
+        try {
+            insertBooking(customerId, listingId, "CONFIRMED", DAY, DAY.plusHours(2));
+            long second = insertBooking(customerId, listingId, "PENDING", DAY.plusHours(1), DAY.plusHours(3));
+
+            DataAccessException failure = assertThrows(DataAccessException.class, () -> jdbcTemplate.execute(migration));
+            assertTrue(failure.getMostSpecificCause().getMessage().contains("existing bookings overlap"),
+                    failure.getMostSpecificCause().getMessage());
+
+            jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = ?", second);
+            jdbcTemplate.execute(migration);
+        } finally {
+            jdbcTemplate.execute("TRUNCATE bookings CASCADE");
+            jdbcTemplate.execute(migration);
+        }
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'bookings_no_overlap'", Integer.class));
+    }
+
+    // true when booked, false when turned away as already booked
+    private Callable<Boolean> attempt(CountDownLatch start, String customer, BookingRequest request) {
+        return () -> {
+            start.await();
+            try {
+                bookingService.createBookingByEmail(customer, request);
+                return true;
+            } catch (IllegalStateException e) {
+                assertEquals("Selected time slot is already booked", e.getMessage());
+                return false;
+            }
+        };
+    }
+
+    private void insertAvailability(long providerId, OffsetDateTime start, OffsetDateTime end) {
+        jdbcTemplate.update("""
+                INSERT INTO calendar_availability (id, provider_id, start_time, end_time, created_at, updated_at)
+                VALUES (?, ?, ?, ?, now(), now())
+                """, nextId("calendar_availability_seq"), providerId, start, end);
+    }
+}
@@ -0,0 +1,145 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.AdminDashboardStatsResponse;
+import com.quickserve.app.dto.BookingRequest;
+import com.quickserve.app.model.Booking;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Dashboard rollups kept by {@link BookingRollupService} as bookings are created and
+ * move through their statuses.
+ */
+class BookingRollupIntegrationTest extends PostgresIntegrationTest {
+
+    private static final OffsetDateTime TOMORROW = OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS).plusDays(1).withHour(8);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Autowired
+    private AdminService adminService;
+
+    private long listingId;
+
+    @BeforeEach
+    void listing() {
+        long providerId = insertUser("provider", "PROVIDER");
+        listingId = insertListing(providerId, "CLEANING", new BigDecimal("500.00"));
+        insertUser("customer", "CUSTOMER");
+        jdbcTemplate.update("""
+                INSERT INTO calendar_availability (id, provider_id, start_time, end_time, created_at, updated_at)
+                VALUES (?, ?, ?, ?, now(), now())
+                """, nextId("calendar_availability_seq"), providerId, TOMORROW, TOMORROW.plusHours(10));
+    }
+
+    @Test
+    void rollupsFollowEveryStatusChange() {
+        Booking completed = book(0);
+        Booking rejected = book(1);
+        Booking cancelled = book(2);
+        Booking confirmed = book(3);
+        book(4);
+
+        bookingService.acceptBookingByEmail(completed.getId(), "provider@example.com");
+        bookingService.completeBookingByEmail(completed.getId(), "provider@example.com");
+        bookingService.rejectBookingByEmail(rejected.getId(), "provider@example.com");
+        bookingService.acceptBookingByEmail(cancelled.getId(), "provider@example.com");
+        bookingService.cancelBookingByEmail(cancelled.getId(), "customer@example.com");
+        bookingService.acceptBookingByEmail(confirmed.getId(), "provider@example.com");
+
+        assertEquals(Map.of(
+                "COMPLETED", List.of(1L, new BigDecimal("500.00")),
+                "CANCELLED", List.of(2L, new BigDecimal("1000.00")),
+                "CONFIRMED", List.of(1L, new BigDecimal("500.00")),
+                "PENDING", List.of(1L, new BigDecimal("500.00"))
+        ), dailyRollups());
+        assertEquals(List.of(5L, new BigDecimal("2500.00")), listingTotals());
+        assertEquals(Map.of("dailyRowsCorrected", 0, "listingRowsCorrected", 0), bookingRollupService.reconcile());
+
+        // Dashboard revenue: the confirmed and completed bookings only
+        AdminDashboardStatsResponse stats = adminService.getDashboardStats();
+        assertEquals(new BigDecimal("1000.00"), stats.totalRevenue());
+        assertEquals(5, stats.totalBookings());
+        assertEquals(2, stats.activeBookings());
+    }
+
+    // Revenue stays at the price each booking was made at
+    @Test
+    void priceChangesDoNotMoveBookedRevenue() {
+        Booking early = book(0);
+        jdbcTemplate.update("UPDATE service_listings SET price = 800 WHERE id = ?", listingId);
+        Booking late = book(1);
+
+        bookingService.acceptBookingByEmail(early.getId(), "provider@example.com");
+        bookingService.acceptBookingByEmail(late.getId(), "provider@example.com");
+        bookingService.cancelBookingByEmail(early.getId(), "customer@example.com");
+
+        assertEquals(new BigDecimal("500.00"), early.getPrice());
+        assertEquals(Map.of(
+                "CANCELLED", List.of(1L, new BigDecimal("500.00")),
+                "CONFIRMED", List.of(1L, new BigDecimal("800.00"))
+        ), dailyRollups());
+        assertEquals(List.of(2L, new BigDecimal("1300.00")), listingTotals());
+        // Nothing for the recount to swing back
+        assertEquals(Map.of("dailyRowsCorrected", 0, "listingRowsCorrected", 0), bookingRollupService.reconcile());
+    }
+
+    @Test
+    void reconcileRepairsDriftedRollups() {
+        book(0);
+        jdbcTemplate.update("UPDATE booking_daily_rollups SET bookings = 9, revenue = 1");
+        jdbcTemplate.update("UPDATE listing_booking_totals SET revenue = 0");
+
+        assertEquals(Map.of("dailyRowsCorrected", 1, "listingRowsCorrected", 1), bookingRollupService.reconcile());
+        assertEquals(Map.of("PENDING", List.of(1L, new BigDecimal("500.00"))), dailyRollups());
+        assertEquals(List.of(1L, new BigDecimal("500.00")), listingTotals());
+    }
+
+    // One-hour booking 'hour' hours into tomorrow's availability
+    private Booking book(int hour) {
+        BookingRequest request = new BookingRequest();
+        request.setServiceListingId(listingId);
+        request.setStartTime(TOMORROW.plusHours(hour));
+        request.setEndTime(TOMORROW.plusHours(hour + 1));
+        return bookingService.createBookingByEmail("customer@example.com", request);
+    }
+
+    // status -> [bookings, revenue] over all days, statuses with bookings only
+    private Map<String, List<Object>> dailyRollups() {
+        return jdbcTemplate.query("""
+                SELECT status, sum(bookings) AS bookings, sum(revenue) AS revenue
+                FROM booking_daily_rollups
+                GROUP BY status
+                HAVING sum(bookings) <> 0
+                """, rs -> {
+            Map<String, List<Object>> rows = new HashMap<>();
+            while (rs.next()) {
+                rows.put(rs.getString("status"), List.of(rs.getLong("bookings"), rs.getBigDecimal("revenue")));
+            }
+            return rows;
+        });
+    }
+
+    private List<Object> listingTotals() {
+        return jdbcTemplate.queryForObject(
+                "SELECT bookings, revenue FROM listing_booking_totals WHERE service_listing_id = ?",
+                (rs, row) -> List.of(rs.getLong("bookings"), rs.getBigDecimal("revenue")), listingId);
+    }
+}
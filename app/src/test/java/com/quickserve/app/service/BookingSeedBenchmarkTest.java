@@ -0,0 +1,115 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.model.Booking;
+import com.quickserve.app.model.BookingStatus;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rows per second when seeding bookings through JPA: 1,000,000 with the configured
+ * JDBC batching ({@code hibernate.jdbc.batch_size} over pooled-lo ids), against a
+ * 100,000-row sample sent one INSERT per round trip, as IDENTITY ids forced. A
+ * server-side {@code INSERT ... SELECT} of the same sample gives the ceiling the
+ * database itself allows (the exclusion constraint's GiST index dominates).
+ * Row counts: {@code -Dbenchmark.seed.bookings} and {@code -Dbenchmark.seed.unbatched-bookings}.
+ */
+@Tag("benchmark")
+class BookingSeedBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int BATCHED_ROWS = Integer.getInteger("benchmark.seed.bookings", 1_000_000);
+    private static final int UNBATCHED_ROWS = Integer.getInteger("benchmark.seed.unbatched-bookings", 100_000);
+    // Rows per transaction; the persistence context is flushed and cleared every FLUSH_EVERY
+    private static final int CHUNK = 10_000;
+    private static final int FLUSH_EVERY = 1_000;
+    private static final OffsetDateTime FIRST_SLOT = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long customerId;
+    private long providerId;
+    private long listingId;
+
+    @Test
+    void batchedInsertsOutrunOneRowPerRoundTrip() {
+        customerId = insertUser("customer", "CUSTOMER");
+        providerId = insertUser("provider", "PROVIDER");
+        listingId = insertListing(providerId, "CLEANING", new BigDecimal("400.00"));
+
+        double ceiling = seedInDatabase(UNBATCHED_ROWS);
+        jdbcTemplate.execute("TRUNCATE bookings CASCADE");
+        double unbatched = seed(UNBATCHED_ROWS, 1);
+        jdbcTemplate.execute("TRUNCATE bookings CASCADE");
+        double batched = seed(BATCHED_ROWS, null);
+
+        System.out.printf("booking seed: %,d rows batched at %,.0f rows/s; %,d rows unbatched at %,.0f rows/s (%.1fx);"
+                        + " INSERT ... SELECT at %,.0f rows/s%n",
+                BATCHED_ROWS, batched, UNBATCHED_ROWS, unbatched, batched / unbatched, ceiling);
+        assertEquals(BATCHED_ROWS, jdbcTemplate.queryForObject("SELECT count(*) FROM bookings", Integer.class));
+        assertTrue(batched >= 1.5 * unbatched, "batched " + batched + " rows/s, unbatched " + unbatched + " rows/s");
+    }
+
+    // Persists 'rows' one-hour bookings back to back and returns rows per second;
+    // a null batch size keeps the configured one
+    private double seed(int rows, Integer jdbcBatchSize) {
+        long began = System.nanoTime();
+        for (int from = 0; from < rows; from += CHUNK) {
+            int first = from;
+            int last = Math.min(from + CHUNK, rows);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jdbcBatchSize != null) {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                }
+                for (int i = first; i < last; i++) {
+                    entityManager.persist(booking(i));
+                    if ((i + 1) % FLUSH_EVERY == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                    }
+                }
+            });
+        }
+        return rows / ((System.nanoTime() - began) / 1e9);
+    }
+
+    private double seedInDatabase(int rows) {
+        long began = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO bookings (id, user_id, provider_id, service_listing_id, start_time, end_time,
+                                      status, price, created_at, updated_at)
+                SELECT nextval('bookings_seq'), ?, ?, ?,
+                       ?::timestamptz + g * interval '1 hour', ?::timestamptz + (g + 1) * interval '1 hour',
+                       'COMPLETED', 400.00, now(), now()
+                FROM generate_series(0, ? - 1) g
+                """, customerId, providerId, listingId, FIRST_SLOT, FIRST_SLOT, rows);
+        return rows / ((System.nanoTime() - began) / 1e9);
+    }
+
+    private Booking booking(int slot) {
+        Booking booking = new Booking();
+        booking.setUserId(customerId);
+        booking.setProviderId(providerId);
+        booking.setServiceListingId(listingId);
+        booking.setStartTime(FIRST_SLOT.plusHours(slot));
+        booking.setEndTime(FIRST_SLOT.plusHours(slot + 1));
+        booking.setStatus(BookingStatus.COMPLETED);
+        booking.setPrice(new BigDecimal("400.00"));
+        return booking;
+    }
+}
@@ -0,0 +1,109 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.ListingSummaryResponse;
+import com.quickserve.app.model.Category;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Latency of the free-slot search ({@link ListingService#findAvailableListings}) at
+ * 10,000 providers: 50,000 listings, 30 days of availability and a live booking on
+ * every third provider-day. Prints p50/p95 and fails when p95 exceeds the budget
+ * ({@code -Dbenchmark.free-slot.p95-ms}, default 500).
+ */
+@Tag("benchmark")
+class FreeSlotSearchBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int PROVIDERS = 10_000;
+    private static final OffsetDateTime FIRST_DAY = OffsetDateTime.of(2025, 6, 2, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final int WARMUP = 10;
+    private static final int RUNS = 100;
+    private static final long P95_BUDGET_MS = Long.getLong("benchmark.free-slot.p95-ms", 500);
+
+    @Autowired
+    private ListingService listingService;
+
+    @Test
+    void freeSlotSearchAtTenThousandProviders() {
+        seed();
+
+        long[] millis = new long[RUNS];
+        for (int run = -WARMUP; run < RUNS; run++) {
+            // A different one-hour window each run, inside the seeded month
+            int index = run + WARMUP;
+            OffsetDateTime start = FIRST_DAY.plusDays(index % 30).plusHours(9 + index % 8);
+            long began = System.nanoTime();
+            Page<ListingSummaryResponse> page = listingService.findAvailableListings(
+                    Category.values()[index % Category.values().length], "Pune",
+                    start, start.plusHours(1), PageRequest.of(0, 20));
+            long elapsed = System.nanoTime() - began;
+            assertFalse(page.isEmpty(), "no free listing for " + start);
+            if (run >= 0) {
+                millis[run] = elapsed / 1_000_000;
+            }
+        }
+
+        Arrays.sort(millis);
+        long p50 = millis[RUNS / 2];
+        long p95 = millis[RUNS * 95 / 100];
+        System.out.printf("free-slot search, %d providers: p50 %d ms, p95 %d ms, max %d ms%n",
+                PROVIDERS, p50, p95, millis[RUNS - 1]);
+        assertTrue(p95 <= P95_BUDGET_MS, "p95 " + p95 + " ms over budget " + P95_BUDGET_MS + " ms");
+    }
+
+    private void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, username, email, password, role, details_filled, verified)
+                SELECT nextval('users_seq'), 'provider' || i, 'provider' || i || '@example.com',
+                       'x', 'PROVIDER', true, true
+                FROM generate_series(1, ?) i
+                """, PROVIDERS);
+        // Five listings per provider, categories and cities spread evenly
+        jdbcTemplate.update("""
+                INSERT INTO service_listings (id, title, description, price, location, category,
+                                              provider_id, active, approved, created_at, updated_at)
+                SELECT nextval('service_listings_seq'), 'Listing ' || u.id || '-' || k, 'benchmark',
+                       200 + (u.id % 40) * 25,
+                       (ARRAY['Pune', 'Mumbai', 'Delhi', 'Bengaluru', 'Chennai'])[1 + (u.id / 50) % 5],
+                       (ARRAY['CLEANING', 'PLUMBING', 'ELECTRICAL', 'AC_SERVICE', 'BEAUTY', 'MOVERS', 'REPAIRS'])
+                           [1 + (u.id / 50 + k) % 7],
+                       u.id, true, true, now(), now()
+                FROM users u
+                CROSS JOIN generate_series(0, 4) k
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO calendar_availability (id, provider_id, start_time, end_time, created_at, updated_at)
+                SELECT nextval('calendar_availability_seq'), u.id,
+                       ?::timestamptz + d * interval '1 day' + interval '8 hours',
+                       ?::timestamptz + d * interval '1 day' + interval '18 hours',
+                       now(), now()
+                FROM users u
+                CROSS JOIN generate_series(0, 29) d
+                """, FIRST_DAY, FIRST_DAY);
+        jdbcTemplate.update("""
+                INSERT INTO bookings (id, user_id, provider_id, service_listing_id, start_time, end_time,
+                                      status, price, created_at, updated_at)
+                SELECT nextval('bookings_seq'), u.id, u.id, l.id,
+                       ?::timestamptz + d * interval '1 day' + (9 + (u.id + d) % 8) * interval '1 hour',
+                       ?::timestamptz + d * interval '1 day' + (10 + (u.id + d) % 8) * interval '1 hour',
+                       'CONFIRMED', l.price, now(), now()
+                FROM users u
+                JOIN LATERAL (SELECT s.id, s.price FROM service_listings s
+                              WHERE s.provider_id = u.id ORDER BY s.id LIMIT 1) l ON true
+                CROSS JOIN generate_series(0, 29) d
+                WHERE (u.id + d) % 3 = 0
+                """, FIRST_DAY, FIRST_DAY);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+}
@@ -0,0 +1,51 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.ListingFilterRequest;
+import com.quickserve.app.dto.ServiceListingResponse;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Keyword matching of {@link ListingService#filterListings}: the keyword is a literal
+ * substring, LIKE wildcards included.
+ */
+class ListingFilterIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ListingService listingService;
+
+    @Test
+    void keywordWildcardsMatchLiterally() {
+        long providerId = insertUser("provider", "PROVIDER");
+        title(insertListing(providerId, "CLEANING", new BigDecimal("300.00")), "Sofa cleaning, 100% steam");
+        title(insertListing(providerId, "CLEANING", new BigDecimal("300.00")), "Sofa cleaning in 1000 homes");
+        title(insertListing(providerId, "CLEANING", new BigDecimal("300.00")), "Deep_clean package");
+        title(insertListing(providerId, "CLEANING", new BigDecimal("300.00")), "Deep clean! package");
+
+        assertEquals(List.of("Sofa cleaning, 100% steam"), titles("100%"));
+        assertEquals(List.of("Deep_clean package"), titles("p_c"));
+        assertEquals(List.of("Deep clean! package"), titles("n! p"));
+        assertEquals(List.of("Sofa cleaning in 1000 homes", "Sofa cleaning, 100% steam"), titles("sofa"));
+    }
+
+    private void title(long listingId, String title) {
+        jdbcTemplate.update("UPDATE service_listings SET title = ? WHERE id = ?", title, listingId);
+    }
+
+    private List<String> titles(String keyword) {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setKeyword(keyword);
+        return listingService.filterListings(filter, PageRequest.of(0, 20))
+                .map(ServiceListingResponse::getTitle)
+                .stream()
+                .sorted()
+                .toList();
+    }
+}
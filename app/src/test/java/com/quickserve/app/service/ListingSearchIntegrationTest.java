@@ -0,0 +1,67 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.ListingSummaryResponse;
+import com.quickserve.app.model.Category;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Search and availability pages of {@link ListingService} come from native queries with
+ * an order of their own; a client {@code sort} parameter must not reach them.
+ */
+class ListingSearchIntegrationTest extends PostgresIntegrationTest {
+
+    private static final OffsetDateTime TOMORROW = OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS).plusDays(1).withHour(9);
+
+    @Autowired
+    private ListingService listingService;
+
+    @Test
+    void searchIgnoresClientSort() {
+        long providerId = insertUser("provider", "PROVIDER");
+        long cheap = insertListing(providerId, "CLEANING", new BigDecimal("200.00"));
+        long best = insertListing(providerId, "CLEANING", new BigDecimal("900.00"));
+        text(cheap, "Sofa care", "Quick cleaning");
+        text(best, "Deep cleaning", "Cleaning of every room, cleaning products included");
+
+        for (Sort sort : List.of(Sort.unsorted(), Sort.by("price"), Sort.by(Sort.Order.desc("createdAt")))) {
+            Page<ListingSummaryResponse> page = listingService.searchListings("cleaning", PageRequest.of(0, 10, sort));
+
+            assertEquals(List.of(best, cheap), page.map(ListingSummaryResponse::id).getContent(), sort.toString());
+            assertEquals(2, page.getTotalElements());
+        }
+    }
+
+    @Test
+    void availableListingsIgnoreClientSort() {
+        long providerId = insertUser("provider", "PROVIDER");
+        long listingId = insertListing(providerId, "PLUMBING", new BigDecimal("300.00"));
+        jdbcTemplate.update("""
+                INSERT INTO calendar_availability (id, provider_id, start_time, end_time, created_at, updated_at)
+                VALUES (?, ?, ?, ?, now(), now())
+                """, nextId("calendar_availability_seq"), providerId, TOMORROW, TOMORROW.plusHours(8));
+
+        Page<ListingSummaryResponse> page = listingService.findAvailableListings(Category.PLUMBING, null,
+                TOMORROW.plusHours(1), TOMORROW.plusHours(2), PageRequest.of(0, 10, Sort.by("price", "title")));
+
+        assertEquals(List.of(listingId), page.map(ListingSummaryResponse::id).getContent());
+    }
+
+    private void text(long listingId, String title, String description) {
+        jdbcTemplate.update("UPDATE service_listings SET title = ?, description = ? WHERE id = ?",
+                title, description, listingId);
+    }
+}
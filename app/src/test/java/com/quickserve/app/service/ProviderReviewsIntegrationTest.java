@@ -0,0 +1,109 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.CursorPage;
+import com.quickserve.app.dto.ReviewResponse;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Public provider reviews of {@link ReviewService}: one provider's reviews only,
+ * newest first, and keyset pages that neither skip nor repeat rows written in the
+ * same instant.
+ */
+class ProviderReviewsIntegrationTest extends PostgresIntegrationTest {
+
+    private static final OffsetDateTime YESTERDAY = OffsetDateTime.now(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.DAYS).minusDays(1);
+    private static final LocalDateTime WRITTEN = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Autowired
+    private ReviewService reviewService;
+
+    private long providerId;
+    private long listingId;
+    private long customerId;
+    private int bookings;
+
+    @BeforeEach
+    void provider() {
+        providerId = insertUser("provider", "PROVIDER");
+        listingId = insertListing(providerId, "BEAUTY", new BigDecimal("600.00"));
+        customerId = insertUser("customer", "CUSTOMER");
+    }
+
+    @Test
+    void reviewsOfOneProviderNewestFirst() {
+        long other = insertUser("other", "PROVIDER");
+        long otherListing = insertListing(other, "BEAUTY", new BigDecimal("600.00"));
+        long older = review(listingId, WRITTEN.minusDays(2));
+        long newer = review(listingId, WRITTEN);
+        review(otherListing, WRITTEN.minusDays(1));
+
+        assertEquals(List.of(newer, older), ids(reviewService.getProviderReviews(providerId)));
+    }
+
+    // Three of the five reviews share a timestamp; pages of two still walk all five in order
+    @Test
+    void keysetPagesWalkEveryReviewOnce() {
+        long first = review(listingId, WRITTEN.minusHours(3));
+        long tiedA = review(listingId, WRITTEN);
+        long tiedB = review(listingId, WRITTEN);
+        long tiedC = review(listingId, WRITTEN);
+        long latest = review(listingId, WRITTEN.plusHours(1));
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ReviewResponse> page = reviewService.getProviderReviews(providerId, cursor, 2);
+            walked.addAll(ids(page.items()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(latest, tiedC, tiedB, tiedA, first), walked);
+        assertEquals(3, pages);
+        assertEquals(walked, ids(reviewService.getProviderReviews(providerId)));
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() {
+        review(listingId, WRITTEN);
+        review(listingId, WRITTEN.plusMinutes(1));
+
+        CursorPage<ReviewResponse> page = reviewService.getProviderReviews(providerId, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    // A completed booking with a review written at 'createdAt'; returns the review id
+    private long review(long listing, LocalDateTime createdAt) {
+        OffsetDateTime start = YESTERDAY.plusHours(bookings++);
+        long bookingId = insertBooking(customerId, listing, "COMPLETED", start, start.plusHours(1));
+        long reviewId = nextId("reviews_seq");
+        jdbcTemplate.update("""
+                INSERT INTO reviews (id, booking_id, user_id, provider_id, stars, comment, created_at)
+                SELECT ?, b.id, b.user_id, b.provider_id, 4, 'fine', ?
+                FROM bookings b WHERE b.id = ?
+                """, reviewId, createdAt, bookingId);
+        return reviewId;
+    }
+
+    private static List<Long> ids(List<ReviewResponse> reviews) {
+        return reviews.stream().map(ReviewResponse::getId).toList();
+    }
+}
@@ -0,0 +1,197 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.config.CacheConfig;
+import com.quickserve.app.dto.RatingDistributionResponse;
+import com.quickserve.app.model.RatingHistogram;
+import com.quickserve.app.model.ServiceListing;
+import com.quickserve.app.repository.ProviderRatingRepository;
+import com.quickserve.app.repository.ServiceListingRepository;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Rating totals and star histograms kept by {@link RatingAggregateService}: review
+ * submission, concurrent listing edits and the reconcile.
+ */
+class RatingAggregateIntegrationTest extends PostgresIntegrationTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 3, 1, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private ServiceListingRepository listingRepository;
+
+    @Autowired
+    private ProviderRatingRepository providerRatingRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long providerId;
+    private long listingId;
+    private int bookings;
+
+    @BeforeEach
+    void listing() {
+        providerId = insertUser("provider", "PROVIDER");
+        listingId = insertListing(providerId, "CLEANING", new BigDecimal("500.00"));
+    }
+
+    @Test
+    void reviewUpdatesListingAndProviderTotals() {
+        review("alice", 5);
+        review("bob", 3);
+
+        assertEquals(Map.of("rating_count", 2, "rating_sum", 8L, "avg_rating", new BigDecimal("4.0")),
+                jdbcTemplate.queryForMap(
+                        "SELECT rating_count, rating_sum, avg_rating FROM service_listings WHERE id = ?", listingId));
+        assertEquals(Map.of("rating_count", 2L, "rating_sum", 8L),
+                jdbcTemplate.queryForMap(
+                        "SELECT rating_count, rating_sum FROM provider_ratings WHERE provider_id = ?", providerId));
+        assertEquals(4.0, ratingAggregateService.getListingAverage(listingId));
+        assertEquals(4.0, ratingAggregateService.getProviderAverage(providerId));
+    }
+
+    @Test
+    void newListingStartsWithZeroTotals() {
+        assertEquals(Map.of("rating_count", 0, "rating_sum", 0L, "avg_rating", new BigDecimal("0.0")),
+                jdbcTemplate.queryForMap(
+                        "SELECT rating_count, rating_sum, avg_rating FROM service_listings WHERE id = ?", listingId));
+    }
+
+    // A listing edit that loaded the row before a review committed must not write its stale totals back
+    @Test
+    void listingEditInterleavedWithReviewKeepsTheReview() {
+        TransactionTemplate edit = new TransactionTemplate(transactionManager);
+        TransactionTemplate concurrentReview = new TransactionTemplate(transactionManager);
+        concurrentReview.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        edit.executeWithoutResult(status -> {
+            ServiceListing listing = listingRepository.findById(listingId).orElseThrow();
+            assertEquals(0, listing.getRatingCount());
+
+            concurrentReview.executeWithoutResult(inner -> review("alice", 4));
+
+            listing.setTitle("Deep cleaning");
+            listingRepository.saveAndFlush(listing);
+        });
+
+        assertEquals(Map.of("title", "Deep cleaning", "rating_count", 1, "rating_sum", 4L),
+                jdbcTemplate.queryForMap(
+                        "SELECT title, rating_count, rating_sum FROM service_listings WHERE id = ?", listingId));
+    }
+
+    @Test
+    void reviewEvictsListingPagesAndFilters() {
+        Cache pages = cacheManager.getCache(CacheConfig.LISTING_PAGES);
+        Cache filters = cacheManager.getCache(CacheConfig.LISTING_FILTERS);
+        pages.put("page", "stale");
+        filters.put("filter", "stale");
+
+        review("alice", 5);
+
+        assertNull(pages.get("page"));
+        assertNull(filters.get("filter"));
+    }
+
+    @Test
+    void reconcileZeroesProvidersWithoutReviews() {
+        review("alice", 5);
+        long orphanId = insertUser("orphan", "PROVIDER");
+        jdbcTemplate.update("""
+                INSERT INTO provider_ratings (provider_id, rating_count, rating_sum, stars_2)
+                VALUES (?, 1, 2, 1)
+                """, orphanId);
+
+        Map<String, Integer> corrected = ratingAggregateService.reconcile();
+
+        assertEquals(1, corrected.get("providersCorrected"));
+        assertEquals(0, corrected.get("listingsCorrected"));
+        assertEquals(Map.of("rating_count", 0L, "rating_sum", 0L, "stars_2", 0L),
+                jdbcTemplate.queryForMap(
+                        "SELECT rating_count, rating_sum, stars_2 FROM provider_ratings WHERE provider_id = ?",
+                        orphanId));
+        assertEquals(Map.of("rating_count", 1L, "rating_sum", 5L),
+                jdbcTemplate.queryForMap(
+                        "SELECT rating_count, rating_sum FROM provider_ratings WHERE provider_id = ?", providerId));
+    }
+
+    @Test
+    void reviewsIncrementListingAndProviderHistograms() {
+        review("alice", 1);
+        review("bob", 5);
+        review("carol", 5);
+
+        RatingHistogram expected = new RatingHistogram(1, 0, 0, 0, 2);
+        assertEquals(expected, listingRepository.findById(listingId).orElseThrow().getRatingHistogram());
+        assertEquals(expected, providerRatingRepository.findById(providerId).orElseThrow().getRatingHistogram());
+        assertEquals(RatingDistributionResponse.of(expected), ratingAggregateService.getListingDistribution(listingId));
+        assertEquals(RatingDistributionResponse.of(expected), ratingAggregateService.getPlatformDistribution());
+        assertEquals(11.0 / 3, ratingAggregateService.getPlatformAverage(), 1e-9);
+    }
+
+    @Test
+    void listingEditInterleavedWithReviewKeepsTheHistogram() {
+        TransactionTemplate edit = new TransactionTemplate(transactionManager);
+        TransactionTemplate concurrentReview = new TransactionTemplate(transactionManager);
+        concurrentReview.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        edit.executeWithoutResult(status -> {
+            ServiceListing listing = listingRepository.findById(listingId).orElseThrow();
+            concurrentReview.executeWithoutResult(inner -> review("alice", 2));
+            listing.setDescription("now with stale star counts in memory");
+            listingRepository.saveAndFlush(listing);
+        });
+
+        assertEquals(new RatingHistogram(0, 1, 0, 0, 0),
+                listingRepository.findById(listingId).orElseThrow().getRatingHistogram());
+    }
+
+    @Test
+    void reconcileRepairsDriftedHistograms() {
+        review("alice", 4);
+        review("bob", 4);
+        jdbcTemplate.update("UPDATE service_listings SET stars_3 = 7, stars_4 = 0 WHERE id = ?", listingId);
+        jdbcTemplate.update("UPDATE provider_ratings SET stars_1 = 3 WHERE provider_id = ?", providerId);
+
+        Map<String, Integer> corrected = ratingAggregateService.reconcile();
+
+        assertEquals(Map.of("listingsCorrected", 1, "providersCorrected", 1), corrected);
+        RatingHistogram expected = new RatingHistogram(0, 0, 0, 2, 0);
+        assertEquals(expected, listingRepository.findById(listingId).orElseThrow().getRatingHistogram());
+        assertEquals(expected, providerRatingRepository.findById(providerId).orElseThrow().getRatingHistogram());
+        // Nothing left to correct
+        assertEquals(Map.of("listingsCorrected", 0, "providersCorrected", 0), ratingAggregateService.reconcile());
+    }
+
+    // A completed booking of the listing by a new customer, reviewed with the given stars
+    private void review(String customer, int stars) {
+        long customerId = insertUser(customer, "CUSTOMER");
+        OffsetDateTime start = START.plusHours(2L * bookings++);
+        long bookingId = insertBooking(customerId, listingId, "COMPLETED", start, start.plusHours(1));
+        reviewService.submitReviewByEmail(customer + "@example.com", bookingId, stars, "ok");
+    }
+}
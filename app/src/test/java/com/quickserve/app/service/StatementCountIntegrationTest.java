@@ -0,0 +1,104 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.ListingFilterRequest;
+import com.quickserve.app.model.Category;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statements issued by the listing and booking lists: a fixed number however many
+ * rows they map, since providers, listings and images are fetched with the rows
+ * (entity graphs) or in batches ({@code @BatchSize}, default batch fetch size).
+ */
+class StatementCountIntegrationTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 30;
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 5, 1, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private ListingService listingService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> listingIds = new ArrayList<>();
+
+    // One listing with two images per provider, so every row has its own provider
+    @BeforeEach
+    void listings() {
+        for (int i = 0; i < ROWS; i++) {
+            long providerId = insertUser("provider" + i, "PROVIDER");
+            long listingId = insertListing(providerId, "CLEANING", new BigDecimal("100.00"));
+            for (int image = 0; image < 2; image++) {
+                jdbcTemplate.update("INSERT INTO listing_images (id, image_url, listing_id) VALUES (?, ?, ?)",
+                        nextId("listing_images_seq"), "https://img.example.com/" + listingId + "-" + image, listingId);
+            }
+            listingIds.add(listingId);
+        }
+    }
+
+    @Test
+    void filteredListingsFetchProvidersAndImagesWithThePage() {
+        ListingFilterRequest filter = new ListingFilterRequest();
+        filter.setCategory(Category.CLEANING);
+
+        long statements = countStatements(() -> assertEquals(ROWS,
+                listingService.filterListings(filter, PageRequest.of(0, 50)).getNumberOfElements()));
+
+        // Page with providers, then all images in one batch
+        assertEquals(2, statements);
+    }
+
+    @Test
+    void pendingListingsFetchProvidersWithTheList() {
+        jdbcTemplate.update("UPDATE service_listings SET approved = false");
+
+        long statements = countStatements(() -> assertEquals(ROWS, adminService.getPendingListings().size()));
+
+        assertEquals(1, statements);
+    }
+
+    @Test
+    void bookingListsFetchListingsWithTheBookings() {
+        long customerId = insertUser("customer", "CUSTOMER");
+        for (int i = 0; i < ROWS; i++) {
+            insertBooking(customerId, listingIds.get(i), "CONFIRMED", START.plusHours(i), START.plusHours(i + 1));
+        }
+
+        long forCustomer = countStatements(() -> assertEquals(ROWS,
+                bookingService.getBookingsForUserByEmail("customer@example.com").size()));
+        long forProvider = countStatements(() -> assertEquals(1,
+                bookingService.getBookingsForProviderByEmail("provider0@example.com").size()));
+
+        // User by email with its provider details, then bookings joined with their listings
+        assertEquals(3, forCustomer);
+        assertEquals(3, forProvider);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
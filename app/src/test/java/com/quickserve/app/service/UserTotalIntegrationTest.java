@@ -0,0 +1,63 @@
+package com.quickserve.app.service;
+
+import com.quickserve.app.dto.RegisterRequest;
+import com.quickserve.app.model.Role;
+import com.quickserve.app.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Per-role user totals kept by {@link UserTotalService} on registration, as read by
+ * the admin user stats and dashboard.
+ */
+class UserTotalIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserTotalService userTotalService;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Test
+    void registrationCountsTheUser() {
+        register("pat", Role.PROVIDER);
+        register("cam", Role.CUSTOMER);
+        register("cody", Role.CUSTOMER);
+
+        assertEquals(Map.of("totalUsers", 3L, "serviceProviders", 1L, "customers", 2L), adminService.getUserStats());
+        assertEquals(3, adminService.getDashboardStats().totalUsers());
+        assertEquals(Map.of("rowsCorrected", 0), userTotalService.reconcile());
+    }
+
+    // Users written around the service are picked up, and removed ones dropped, by the recount
+    @Test
+    void reconcileRepairsDriftedTotals() {
+        register("pat", Role.PROVIDER);
+        long admin = insertUser("root", "ADMIN");
+        insertUser("cam", "CUSTOMER");
+        assertEquals(1, userTotalService.totalUsers());
+
+        assertEquals(Map.of("rowsCorrected", 2), userTotalService.reconcile());
+        assertEquals(Map.of(Role.CUSTOMER, 1L, Role.PROVIDER, 1L, Role.ADMIN, 1L), userTotalService.countsByRole());
+
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", admin);
+        assertEquals(Map.of("rowsCorrected", 1), userTotalService.reconcile());
+        assertEquals(2, userTotalService.totalUsers());
+    }
+
+    private void register(String name, Role role) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName(name);
+        request.setEmail(name + "@example.com");
+        request.setPassword("secret-" + name);
+        request.setRole(role);
+        userService.register(request);
+    }
+}
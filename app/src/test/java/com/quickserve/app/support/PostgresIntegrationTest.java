@@ -0,0 +1,127 @@
+package com.quickserve.app.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base of the integration tests that need real Postgres behaviour (native upserts,
+ * exclusion constraints, statement timeouts): boots the application against one
+ * embedded Postgres per JVM, migrated by Flyway.
+ * <p>
+ * Every test starts from empty tables and empty Spring caches, and inserts its own
+ * rows with the helpers below. Their ids come from the entity sequences, so rows
+ * the application inserts afterwards never collide with them.
+ * <p>
+ * Postgres refuses to run as root; skip these there with {@code -DexcludedGroups=postgres}.
+ */
+@Tag("postgres")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=INFO",
+        "jwt.secret=cG9zdGdyZXMtaW50ZWdyYXRpb24tdGVzdHMtc2lnbmluZy1rZXktbm90LXVzZWQtYnktYW55LXByb2R1Y3Rpb24tcmVxdWVzdA==",
+        "jwt.expiration=3600000",
+        "cloudinary.cloud-name=test",
+        "cloudinary.api-key=test",
+        "cloudinary.api-secret=test",
+        "rating.reconcile.cron=-",
+        "booking.rollup.reconcile.cron=-",
+        "user.totals.reconcile.cron=-",
+        // Statement counts for the N+1 tests, without the per-session log lines
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public abstract class PostgresIntegrationTest {
+
+    private static final EmbeddedPostgres POSTGRES = start();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @BeforeEach
+    void emptyDatabase() {
+        List<String> tables = jdbcTemplate.queryForList("""
+                SELECT quote_ident(tablename) FROM pg_tables
+                WHERE schemaname = current_schema() AND tablename <> 'flyway_schema_history'
+                """, String.class);
+        jdbcTemplate.execute("TRUNCATE " + String.join(", ", tables) + " CASCADE");
+        cacheManager.getCacheNames()
+                .forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+    }
+
+    protected long insertUser(String username, String role) {
+        long id = nextId("users_seq");
+        jdbcTemplate.update("""
+                INSERT INTO users (id, username, email, password, role, details_filled, verified)
+                VALUES (?, ?, ?, 'x', ?, true, true)
+                """, id, username, username + "@example.com", role);
+        return id;
+    }
+
+    protected long insertListing(long providerId, String category, BigDecimal price) {
+        long id = nextId("service_listings_seq");
+        jdbcTemplate.update("""
+                INSERT INTO service_listings (id, title, description, price, location, category,
+                                              provider_id, active, approved, created_at, updated_at)
+                VALUES (?, ?, 'test listing', ?, 'Pune', ?, ?, true, true, now(), now())
+                """, id, "Listing " + id, price, category, providerId);
+        return id;
+    }
+
+    // A booking row at the listing's price, as written before this test ran; no rollups
+    // or totals are touched
+    protected long insertBooking(long customerId, long listingId, String status,
+                                 OffsetDateTime start, OffsetDateTime end) {
+        long id = nextId("bookings_seq");
+        jdbcTemplate.update("""
+                INSERT INTO bookings (id, user_id, provider_id, service_listing_id, start_time, end_time,
+                                      status, price, created_at, updated_at)
+                SELECT ?, ?, s.provider_id, s.id, ?, ?, ?, s.price, now(), now()
+                FROM service_listings s WHERE s.id = ?
+                """, id, customerId, start, end, status, listingId);
+        return id;
+    }
+
+    protected long nextId(String sequence) {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT nextval(?)", Long.class, sequence));
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // The JVM is exiting anyway
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
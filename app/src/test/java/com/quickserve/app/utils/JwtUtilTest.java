@@ -0,0 +1,111 @@
+package com.quickserve.app.utils;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Token signing modes of {@link JwtUtil}: HS512, ES256 key rotation and the
+ * transition from HS512 to ES256.
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(
+            "jwt-util-test-secret-that-is-long-enough-for-hs512-signatures-0123456789".getBytes());
+    private static final long EXPIRATION = Duration.ofHours(1).toMillis();
+    private static final UserDetails USER = User.withUsername("alice@example.com")
+            .password("x")
+            .roles("CUSTOMER")
+            .build();
+
+    private static final KeyPair OLD_KEY = ecKeyPair();
+    private static final KeyPair NEW_KEY = ecKeyPair();
+
+    @Test
+    void hs512TokensRoundTrip() {
+        JwtUtil jwt = hs512();
+
+        VerifiedToken token = jwt.parseAndValidate(jwt.generateToken(USER));
+
+        assertEquals("alice@example.com", token.subject());
+        assertEquals("ROLE_CUSTOMER", token.role());
+    }
+
+    // Signing moves to the new key while tokens signed with the old one stay valid
+    @Test
+    void rotatedKeysKeepEarlierTokensValid() {
+        JwtUtil before = es256(OLD_KEY, "2025-07", keyEntry("2025-07", OLD_KEY), "");
+        JwtUtil after = es256(NEW_KEY, "2026-01",
+                keyEntry("2026-01", NEW_KEY) + "," + keyEntry("2025-07", OLD_KEY), "");
+        String oldToken = before.generateToken(USER);
+
+        assertEquals("alice@example.com", after.parseAndValidate(oldToken).subject());
+        assertEquals("alice@example.com", after.parseAndValidate(after.generateToken(USER)).subject());
+    }
+
+    @Test
+    void retiredAndUnknownKeyIdsAreRejected() {
+        JwtUtil before = es256(OLD_KEY, "2025-07", keyEntry("2025-07", OLD_KEY), "");
+        JwtUtil retired = es256(NEW_KEY, "2026-01", keyEntry("2026-01", NEW_KEY), "");
+        String oldToken = before.generateToken(USER);
+
+        assertThrows(JwtException.class, () -> retired.parseAndValidate(oldToken));
+        assertThrows(JwtException.class, () -> hs512().parseAndValidate(oldToken));
+    }
+
+    @Test
+    void hs512TokensAreRejectedAfterSwitchingByDefault() {
+        String legacy = hs512().generateToken(USER);
+
+        JwtUtil switched = es256(NEW_KEY, "2026-01", keyEntry("2026-01", NEW_KEY), "");
+
+        assertThrows(JwtException.class, () -> switched.parseAndValidate(legacy));
+    }
+
+    @Test
+    void hs512TokensAreAcceptedUntilTheLegacyCutoff() {
+        String legacy = hs512().generateToken(USER);
+
+        JwtUtil open = es256(NEW_KEY, "2026-01", keyEntry("2026-01", NEW_KEY),
+                Instant.now().plus(Duration.ofHours(1)).toString());
+        JwtUtil closed = es256(NEW_KEY, "2026-01", keyEntry("2026-01", NEW_KEY),
+                Instant.now().minus(Duration.ofMinutes(1)).toString());
+
+        assertEquals("alice@example.com", open.parseAndValidate(legacy).subject());
+        assertThrows(JwtException.class, () -> closed.parseAndValidate(legacy));
+    }
+
+    private static JwtUtil hs512() {
+        return new JwtUtil(SECRET, EXPIRATION, "HS512", "", "", "", "");
+    }
+
+    private static JwtUtil es256(KeyPair signing, String keyId, String publicKeys, String legacyHmacUntil) {
+        String privateKey = Base64.getEncoder().encodeToString(signing.getPrivate().getEncoded());
+        return new JwtUtil(SECRET, EXPIRATION, "ES256", keyId, privateKey, publicKeys, legacyHmacUntil);
+    }
+
+    private static String keyEntry(String keyId, KeyPair keyPair) {
+        return keyId + ":" + Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+    }
+
+    private static KeyPair ecKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(256);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
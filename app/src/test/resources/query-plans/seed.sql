@@ -0,0 +1,135 @@
+-- Production-shaped volumes for QueryPlanRegressionTest. Deterministic, so plans
+-- and costs are comparable between runs. Ids are 1..n; nothing here goes through
+-- the sequences, the test only reads.
+
+-- 2,000 providers (ids 1..2000) and 18,000 customers
+INSERT INTO users (id, username, email, password, role, details_filled, verified)
+SELECT i,
+       'user' || i,
+       'user' || i || '@example.com',
+       'x',
+       CASE WHEN i <= 2000 THEN 'PROVIDER' ELSE 'CUSTOMER' END,
+       true,
+       true
+FROM generate_series(1, 20000) i;
+
+-- 50 listings per provider; listing i belongs to provider (i % 2000) + 1
+INSERT INTO service_listings (id, title, description, price, location, category, provider_id,
+                              active, approved, avg_rating, rating_count, created_at, updated_at)
+SELECT i,
+       (ARRAY['Deep home cleaning', 'Leak repair', 'Wiring check', 'AC gas refill',
+              'Bridal makeup', 'Local house shifting', 'Furniture repair'])[1 + i % 7] || ' #' || i,
+       'Professional service by verified provider ' || (i % 2000) + 1,
+       200 + (i % 50) * 25,
+       (ARRAY['Pune', 'Mumbai', 'Delhi', 'Bengaluru', 'Chennai', 'Hyderabad', 'Kolkata',
+              'Jaipur', 'Ahmedabad', 'Lucknow'])[1 + i % 10],
+       (ARRAY['CLEANING', 'PLUMBING', 'ELECTRICAL', 'AC_SERVICE', 'BEAUTY', 'MOVERS', 'REPAIRS'])[1 + i % 7],
+       (i % 2000) + 1,
+       i % 20 <> 0,
+       i % 10 <> 0,
+       0,
+       0,
+       timestamp '2024-01-01' + i * interval '17 minutes',
+       timestamp '2024-01-01' + i * interval '17 minutes'
+FROM generate_series(1, 100000) i;
+
+INSERT INTO listing_images (id, image_url, listing_id)
+SELECT i, 'https://img.example.com/' || i || '.jpg', 1 + (i % 100000)
+FROM generate_series(1, 150000) i;
+
+-- 200 bookings per provider, one per day, on the provider's own listings, at the
+-- listing's price. Sequential days keep them clear of bookings_no_overlap.
+INSERT INTO bookings (id, user_id, provider_id, service_listing_id, start_time, end_time,
+                      status, price, created_at, updated_at)
+SELECT i,
+       2001 + (i % 18000),
+       (i % 2000) + 1,
+       (i % 2000) + 2000 * (1 + (i / 2000) % 49),
+       timestamptz '2025-01-01 09:00+00' + (i / 2000) * interval '1 day',
+       timestamptz '2025-01-01 10:00+00' + (i / 2000) * interval '1 day',
+       (ARRAY['CONFIRMED', 'COMPLETED', 'COMPLETED', 'CANCELLED', 'PENDING', 'REJECTED'])[1 + i % 6],
+       200 + (i % 50) * 25,
+       timestamptz '2024-12-29 12:00+00' + (i / 2000) * interval '1 day',
+       timestamptz '2024-12-29 12:00+00' + (i / 2000) * interval '1 day'
+FROM generate_series(1, 400000) i;
+
+INSERT INTO reviews (id, booking_id, user_id, provider_id, stars, comment, created_at)
+SELECT b.id / 4, b.id, b.user_id, b.provider_id, 1 + b.id % 5, 'Review of booking ' || b.id, b.end_time
+FROM bookings b
+WHERE b.id % 4 = 0;
+
+-- Rating totals as RatingAggregateServiceImpl keeps them, so a reconcile finds nothing to fix
+UPDATE service_listings s
+SET rating_count = r.cnt,
+    rating_sum   = r.total,
+    avg_rating   = round(CAST(r.total AS numeric) / r.cnt, 1),
+    stars_1 = r.s1, stars_2 = r.s2, stars_3 = r.s3, stars_4 = r.s4, stars_5 = r.s5
+FROM (
+    SELECT b.service_listing_id, count(*) AS cnt, sum(rv.stars) AS total,
+           count(*) FILTER (WHERE rv.stars = 1) AS s1,
+           count(*) FILTER (WHERE rv.stars = 2) AS s2,
+           count(*) FILTER (WHERE rv.stars = 3) AS s3,
+           count(*) FILTER (WHERE rv.stars = 4) AS s4,
+           count(*) FILTER (WHERE rv.stars = 5) AS s5
+    FROM reviews rv
+    JOIN bookings b ON b.id = rv.booking_id
+    GROUP BY b.service_listing_id
+) r
+WHERE r.service_listing_id = s.id;
+
+INSERT INTO provider_ratings (provider_id, rating_count, rating_sum,
+                              stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT provider_id, count(*), sum(stars),
+       count(*) FILTER (WHERE stars = 1),
+       count(*) FILTER (WHERE stars = 2),
+       count(*) FILTER (WHERE stars = 3),
+       count(*) FILTER (WHERE stars = 4),
+       count(*) FILTER (WHERE stars = 5)
+FROM reviews
+GROUP BY provider_id;
+
+-- Dashboard rollups as BookingRollupServiceImpl keeps them
+INSERT INTO booking_daily_rollups (day, category, status, bookings, revenue)
+SELECT CAST(b.created_at AT TIME ZONE 'UTC' AS date), s.category, b.status, count(*), sum(b.price)
+FROM bookings b
+JOIN service_listings s ON s.id = b.service_listing_id
+GROUP BY 1, 2, 3;
+
+INSERT INTO listing_booking_totals (service_listing_id, bookings, revenue)
+SELECT service_listing_id, count(*), sum(price)
+FROM bookings
+GROUP BY service_listing_id;
+
+-- 50 daily working-hour slots per provider
+INSERT INTO calendar_availability (id, provider_id, start_time, end_time, created_at, updated_at)
+SELECT i,
+       (i % 2000) + 1,
+       timestamptz '2025-01-01 08:00+00' + (i / 2000) * interval '1 day',
+       timestamptz '2025-01-01 18:00+00' + (i / 2000) * interval '1 day',
+       now(),
+       now()
+FROM generate_series(1, 100000) i;
+
+-- Every other provider also has two weekly rules
+INSERT INTO availability_rules (id, provider_id, day_of_week, start_time, end_time, zone,
+                                valid_from, valid_until, created_at, updated_at)
+SELECT i,
+       2 * (i % 1000) + 1,
+       (ARRAY['MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY'])[1 + i % 7],
+       time '09:00',
+       time '17:00',
+       'Asia/Kolkata',
+       date '2025-01-01',
+       NULL,
+       now(),
+       now()
+FROM generate_series(1, 2000) i;
+
+INSERT INTO availability_rule_exceptions (rule_id, excluded_date)
+SELECT i, date '2025-03-10' + (i % 30)
+FROM generate_series(1, 2000, 5) i;
+
+INSERT INTO notifications (id, user_id, message, read_status, created_at)
+SELECT i, 1 + (i % 20000), 'Booking update ' || i, i % 3 = 0,
+       timestamp '2025-01-01' + i * interval '3 minutes'
+FROM generate_series(1, 200000) i;